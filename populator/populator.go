@@ -11,6 +11,8 @@ import (
 	"net/http"
 	"net/http/cookiejar"
 	"net/url"
+	"os"
+	"strconv"
 	"strings"
 	"time"
 
@@ -27,6 +29,14 @@ type dog struct {
 	ZipCode   string `json:"zip_code"`
 }
 
+// location represents the centroid of a zip code returned from Fetch
+// Rewards' API.
+type location struct {
+	Latitude  float64 `json:"latitude"`
+	Longitude float64 `json:"longitude"`
+	ZipCode   string  `json:"zip_code"`
+}
+
 // searchResponse represents a response from Fetch Rewards' API.
 type searchResponse struct {
 	Next     string   `json:"-"`
@@ -110,6 +120,26 @@ func createDatabase() (*sql.DB, error) {
 	return database, err
 }
 
+// createIndexes adds the secondary indexes the back end service searches
+// through and collects planner statistics for them. It returns an error if
+// any statement fails.
+func createIndexes(database *sql.DB) error {
+	statements := []string{
+		`CREATE INDEX DogAgeIndex ON Dog (age, id);`,
+		`CREATE INDEX DogBreedAgeIndex ON Dog (breed, age, id);`,
+		`CREATE INDEX DogBreedIndex ON Dog (breed, id);`,
+		`CREATE INDEX DogNameIndex ON Dog (name, id);`,
+		`CREATE INDEX DogZipCodeIndex ON Dog (zip_code, id);`,
+		`ANALYZE;`,
+	}
+	for _, statement := range statements {
+		if _, err := database.Exec(statement); err != nil {
+			return err
+		}
+	}
+	return nil
+}
+
 // getBreeds returns a sequence of dog breeds from Fetch Rewards' API.
 // An error is returned if the request fails.
 func getBreeds(client *http.Client) ([]string, error) {
@@ -270,6 +300,96 @@ func getAndInsertDogs(client *http.Client, database *sql.DB) error {
 	return nil
 }
 
+// getLocations retrieves the centroids of up to 100 zip codes from Fetch
+// Rewards. Zip codes the API does not know are left out. It returns a slice
+// of location structs and an error if the request fails.
+func getLocations(client *http.Client, zipCodes []string) ([]location, error) {
+	codes, err := json.Marshal(zipCodes)
+	if err != nil {
+		return nil, err
+	}
+
+	request, err := http.NewRequest(
+		"POST",
+		baseURL+"/locations",
+		strings.NewReader(string(codes)),
+	)
+	if err != nil {
+		return nil, err
+	}
+	request.Header.Set("Content-Type", "application/json")
+	request.Header.Set("Credentials", "include")
+
+	response, err := sendRequest(client, request)
+	if err != nil {
+		return nil, err
+	}
+
+	var locations []*location
+	if err = json.Unmarshal(response, &locations); err != nil {
+		return nil, err
+	}
+	result := make([]location, 0, len(locations))
+	for _, centroid := range locations {
+		if centroid != nil {
+			result = append(result, *centroid)
+		}
+	}
+	return result, nil
+}
+
+// writeCentroids stores the centroid of every zip code in the database in
+// the CSV file "zip-centroids.csv," which the back end service reads for
+// radius searches. It returns an error if the process fails.
+func writeCentroids(client *http.Client, database *sql.DB) error {
+	rows, err := database.Query(
+		`SELECT DISTINCT zip_code FROM Dog ORDER BY zip_code;`,
+	)
+	if err != nil {
+		return err
+	}
+	var zipCodes []string
+	for rows.Next() {
+		var zipCode string
+		if err = rows.Scan(&zipCode); err != nil {
+			rows.Close()
+			return err
+		}
+		zipCodes = append(zipCodes, zipCode)
+	}
+	rows.Close()
+	if err = rows.Err(); err != nil {
+		return err
+	}
+
+	var builder strings.Builder
+	builder.WriteString("zip,latitude,longitude\n")
+	count := 0
+	for start := 0; start < len(zipCodes); start += 100 {
+		end := min(start+100, len(zipCodes))
+		locations, err := getLocations(client, zipCodes[start:end])
+		if err != nil {
+			return fmt.Errorf("getLocations failed: %w", err)
+		}
+		for _, centroid := range locations {
+			builder.WriteString(centroid.ZipCode + ",")
+			builder.WriteString(
+				strconv.FormatFloat(centroid.Latitude, 'f', -1, 64) + ",",
+			)
+			builder.WriteString(
+				strconv.FormatFloat(centroid.Longitude, 'f', -1, 64) + "\n",
+			)
+			count++
+		}
+		time.Sleep(time.Second * time.Duration(rand.IntN(3)+1))
+	}
+	if count == 0 {
+		return fmt.Errorf("no centroids for %d zip codes", len(zipCodes))
+	}
+	log.Printf("writeCentroids found %d of %d zip codes", count, len(zipCodes))
+	return os.WriteFile("zip-centroids.csv", []byte(builder.String()), 0o644)
+}
+
 // run gets the data from Fetch Rewards' API to set up the database.
 // An error is returned if the process fails.
 func run() error {
@@ -292,6 +412,14 @@ func run() error {
 		return fmt.Errorf("getAndInsertDogs failed: %w", err)
 	}
 
+	if err = createIndexes(database); err != nil {
+		return fmt.Errorf("createIndexes failed: %w", err)
+	}
+
+	if err = writeCentroids(client, database); err != nil {
+		return fmt.Errorf("writeCentroids failed: %w", err)
+	}
+
 	return nil
 }
 
@@ -2,6 +2,7 @@ package com.pupperfield.backend.advice;
 
 import com.pupperfield.backend.model.InvalidRequestResponseDto;
 import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletResponse;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.lang3.exception.ExceptionUtils;
 import org.springframework.context.MessageSourceResolvable;
@@ -17,9 +18,11 @@ import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
 import org.springframework.web.method.annotation.HandlerMethodValidationException;
+import org.springframework.web.server.ResponseStatusException;
 import org.springframework.web.servlet.NoHandlerFoundException;
 import org.springframework.web.servlet.resource.NoResourceFoundException;
 
+import java.util.List;
 import java.util.stream.Collectors;
 
 /**
@@ -30,14 +33,20 @@ import java.util.stream.Collectors;
 @Slf4j
 public class ExceptionAdvice {
     /**
-     * Handles cases when processing the request body cannot be continued.
+     * Handles cases when processing the request body cannot be continued. A failure while a
+     * streamed response is being written is rethrown, so that the truncated response is aborted
+     * rather than completed with an error appended.
      *
      * @param exception the exception thrown
+     * @param response the current response
      * @return an HTTP 400 response
      */
     @ExceptionHandler(HttpMessageConversionException.class)
     public ResponseEntity<String> failedHttpMessageConversionHandler
-    (HttpMessageConversionException exception) {
+    (HttpMessageConversionException exception, HttpServletResponse response) {
+        if (response.isCommitted()) {
+            throw exception;
+        }
         log.info(ExceptionUtils.getStackTrace(exception));
         return new ResponseEntity<>(
             HttpStatus.BAD_REQUEST.getReasonPhrase(), HttpStatus.BAD_REQUEST);
@@ -132,13 +141,40 @@ public class ExceptionAdvice {
     }
 
     /**
-     * A fallback handler for other types of exception.
+     * Handles cases when a request cannot be answered with the reason given by the service.
      *
      * @param exception the exception thrown
+     * @return a response with the status of the exception
+     */
+    @ExceptionHandler(ResponseStatusException.class)
+    public ResponseEntity<InvalidRequestResponseDto> responseStatusHandler
+    (ResponseStatusException exception) {
+        log.info(ExceptionUtils.getStackTrace(exception));
+        var status = HttpStatus.valueOf(exception.getStatusCode().value());
+        return new ResponseEntity<>(
+            new InvalidRequestResponseDto(
+                status.getReasonPhrase(),
+                exception.getReason() != null ? List.of(exception.getReason()) : List.of()
+            ),
+            status
+        );
+    }
+
+    /**
+     * A fallback handler for other types of exception. Like the handler of conversion failures,
+     * it rethrows the exception when the response has already been committed.
+     *
+     * @param exception the exception thrown
+     * @param response the current response
      * @return an HTTP 500 response
+     * @throws Exception the exception thrown, if the response has already been committed
      */
     @ExceptionHandler(Exception.class)
-    public ResponseEntity<String> baseExceptionHandler(Exception exception) {
+    public ResponseEntity<String> baseExceptionHandler
+    (Exception exception, HttpServletResponse response) throws Exception {
+        if (response.isCommitted()) {
+            throw exception;
+        }
         log.error(ExceptionUtils.getStackTrace(exception));
         return new ResponseEntity<>(
             HttpStatus.INTERNAL_SERVER_ERROR.getReasonPhrase(), HttpStatus.INTERNAL_SERVER_ERROR);
@@ -0,0 +1,82 @@
+package com.pupperfield.backend.cache;
+
+import com.github.benmanes.caffeine.cache.Weigher;
+import com.pupperfield.backend.model.DogDto;
+import com.pupperfield.backend.model.DogFacetsDto;
+import com.pupperfield.backend.model.DogSearchFilter;
+import com.pupperfield.backend.model.DogSearchResult;
+
+import java.util.Collection;
+import java.util.Map;
+
+/**
+ * Estimates how many bytes a cache entry keeps on the heap, so caches can be bounded by memory
+ * rather than by entry count. The estimates assume compressed object pointers and compact
+ * strings, and count every object an entry refers to, including strings it may share with other
+ * entries, so they err on the high side.
+ */
+public class CacheWeigher implements Weigher<Object, Object> {
+    private static final int OBJECT = 16;
+    private static final int REFERENCE = 4;
+    private static final int STRING = 40;
+
+    /**
+     * Estimates the weight of a cache entry.
+     *
+     * @param key key of the entry
+     * @param value value of the entry
+     * @return estimated number of bytes, at most {@link Integer#MAX_VALUE}
+     */
+    public int weigh(Object key, Object value) {
+        return (int) Math.min(estimate(key) + estimate(value), Integer.MAX_VALUE);
+    }
+
+    /**
+     * Estimates the number of bytes an object and everything it refers to occupy.
+     *
+     * @param object a cache key or value
+     * @return estimated number of bytes
+     */
+    static long estimate(Object object) {
+        return switch (object) {
+            case null -> 0;
+            case String string -> STRING + string.length();
+            case Number ignored -> OBJECT + Long.BYTES;
+            case Collection<?> collection -> {
+                long size = OBJECT + 8L + (long) REFERENCE * collection.size();
+                for (var element : collection) {
+                    size += estimate(element);
+                }
+                yield size;
+            }
+            case Map<?, ?> map -> {
+                long size = OBJECT + 8L + (long) (OBJECT + 4 * REFERENCE) * map.size();
+                for (var entry : map.entrySet()) {
+                    size += estimate(entry.getKey()) + estimate(entry.getValue());
+                }
+                yield size;
+            }
+            case CachedDog dog -> OBJECT + 2 * REFERENCE + estimate(dog.dog()) + OBJECT
+                + dog.json().length;
+            case DogDto dog -> OBJECT + Integer.BYTES + 5 * REFERENCE + estimate(dog.getBreed())
+                + estimate(dog.getId()) + estimate(dog.getImageLink()) + estimate(dog.getName())
+                + estimate(dog.getZipCode());
+            case DogFacetsDto facets -> OBJECT + Long.BYTES + 3 * REFERENCE
+                + estimate(facets.getAges()) + estimate(facets.getBreeds())
+                + estimate(facets.getZipCodes());
+            case DogIdList list -> list.weight();
+            case DogIdListKey key -> OBJECT + 2 * REFERENCE + estimate(key.filter())
+                + estimate(key.sort());
+            case DogSearchFilter filter -> OBJECT + 6 * REFERENCE + estimate(filter.ageMax())
+                + estimate(filter.ageMin()) + estimate(filter.breeds())
+                + estimate(filter.distance()) + estimate(filter.zip())
+                + estimate(filter.zipCodes());
+            case DogSearchKey key -> OBJECT + 2 * Integer.BYTES + 4 * REFERENCE
+                + estimate(key.getCursor()) + estimate(key.getFilter()) + estimate(key.getSort());
+            case DogSearchResult result -> OBJECT + Long.BYTES + 3 * REFERENCE
+                + estimate(result.nextCursor()) + estimate(result.previousCursor())
+                + estimate(result.resultIds());
+            default -> OBJECT;
+        };
+    }
+}
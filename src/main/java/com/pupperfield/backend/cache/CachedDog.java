@@ -0,0 +1,14 @@
+package com.pupperfield.backend.cache;
+
+import com.pupperfield.backend.model.DogDto;
+
+/**
+ * An entry of the {@code dogs} cache. Since the dataset never changes, each dog is serialized
+ * once when it is loaded and its JSON is reused by every /dogs response that lists it.
+ *
+ * @param dog the dog
+ * @param json the dog serialized as a UTF-8 JSON object, exactly as Jackson writes it inside a
+ * list
+ */
+public record CachedDog(DogDto dog, byte[] json) {
+}
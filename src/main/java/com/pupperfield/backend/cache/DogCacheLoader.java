@@ -0,0 +1,41 @@
+package com.pupperfield.backend.cache;
+
+import com.github.benmanes.caffeine.cache.CacheLoader;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.function.Function;
+
+/**
+ * Reloads entries of the {@code dogs} cache, which POST /dogs is answered from, in the
+ * background, as described in {@link RefreshingCacheLoader}. Each stale dog is reloaded on its
+ * own, by its primary key.
+ */
+public class DogCacheLoader extends RefreshingCacheLoader implements CacheLoader<Object, Object> {
+    private final Function<Set<String>, Map<String, CachedDog>> dogs;
+
+    /**
+     * Creates a loader.
+     *
+     * @param dogs reads dogs by ID without any caching
+     * @param executor the bounded executor that reloads run on
+     */
+    public DogCacheLoader(
+        Function<Set<String>, Map<String, CachedDog>> dogs,
+        ExecutorService executor
+    ) {
+        super(executor);
+        this.dogs = dogs;
+    }
+
+    /**
+     * Reads a dog.
+     *
+     * @param key ID of the dog
+     * @return the dog, or null if it does not exist
+     */
+    public Object load(Object key) {
+        return dogs.apply(Set.of((String) key)).get(key);
+    }
+}
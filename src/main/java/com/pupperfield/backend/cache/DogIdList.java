@@ -0,0 +1,94 @@
+package com.pupperfield.backend.cache;
+
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * The complete ordered list of dog IDs matching a search, packed into one byte array so a cached
+ * list costs about one byte per character instead of a {@link String} object per dog. Pages are
+ * decoded from it on demand. When every ID has the same length, as in the bundled dataset, no
+ * offsets are stored at all.
+ */
+@AllArgsConstructor(access = AccessLevel.PRIVATE)
+public class DogIdList {
+    private final byte[] bytes;
+
+    private final int[] offsets;
+
+    private final int size;
+
+    private final int width;
+
+    /**
+     * Packs a list of dog IDs.
+     *
+     * @param ids dog IDs in order
+     * @return the packed list
+     */
+    public static DogIdList of(List<String> ids) {
+        var encoded = new byte[ids.size()][];
+        int length = 0, width = ids.isEmpty() ? 0 : -1;
+        for (var index = 0; index < encoded.length; index++) {
+            encoded[index] = ids.get(index).getBytes(StandardCharsets.UTF_8);
+            length += encoded[index].length;
+            if (index == 0) {
+                width = encoded[index].length;
+            } else if (width != encoded[index].length) {
+                width = -1;
+            }
+        }
+
+        var bytes = new byte[length];
+        var offsets = width < 0 ? new int[encoded.length + 1] : null;
+        for (int index = 0, position = 0; index < encoded.length; index++) {
+            System.arraycopy(encoded[index], 0, bytes, position, encoded[index].length);
+            position += encoded[index].length;
+            if (offsets != null) {
+                offsets[index + 1] = position;
+            }
+        }
+        return new DogIdList(bytes, offsets, encoded.length, width);
+    }
+
+    /**
+     * Returns the number of IDs in the list, which is the total of the search.
+     *
+     * @return number of IDs
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Estimates how many bytes the list occupies on the heap.
+     *
+     * @return estimated number of bytes
+     */
+    public long weight() {
+        return 32L + 16 + bytes.length + (offsets == null ? 0 : 16L + 4L * offsets.length);
+    }
+
+    /**
+     * Decodes a window of the list. A window past the end of the list is cut short or empty.
+     *
+     * @param from index of the first ID
+     * @param count maximum number of IDs
+     * @return IDs in the window, in order
+     */
+    public List<String> slice(long from, int count) {
+        var start = (int) Math.min(from, size);
+        var end = (int) Math.min((long) start + count, size);
+        var ids = new String[end - start];
+        for (var index = start; index < end; index++) {
+            ids[index - start] = offsets == null
+                ? new String(bytes, index * width, width, StandardCharsets.UTF_8)
+                : new String(bytes, offsets[index], offsets[index + 1] - offsets[index],
+                    StandardCharsets.UTF_8);
+        }
+        return Arrays.asList(ids);
+    }
+}
@@ -0,0 +1,13 @@
+package com.pupperfield.backend.cache;
+
+import com.pupperfield.backend.model.DogSearchFilter;
+
+/**
+ * A key of the {@code idLists} cache. Every page of a search with the same filter and sort order
+ * is served from the same entry.
+ *
+ * @param filter normalized filter of the search
+ * @param sort sort parameter such as {@code breed:asc}
+ */
+public record DogIdListKey(DogSearchFilter filter, String sort) {
+}
@@ -0,0 +1,62 @@
+package com.pupperfield.backend.cache;
+
+import com.pupperfield.backend.model.DogSearchFilter;
+import com.pupperfield.backend.model.DogSearchRequestDto;
+import lombok.EqualsAndHashCode;
+import lombok.Value;
+
+/**
+ * An immutable key of the {@code searches} cache. Since the filter is normalized, requests that
+ * only differ in the order or repetition of listed breeds and zip codes share one entry. The
+ * hash code is computed once and then reused by every lookup.
+ */
+@EqualsAndHashCode(cacheStrategy = EqualsAndHashCode.CacheStrategy.LAZY)
+@Value
+public class DogSearchKey {
+    DogSearchFilter filter;
+
+    String cursor;
+
+    int from;
+
+    int size;
+
+    String sort;
+
+    /**
+     * Builds the key of a search.
+     *
+     * @param parameters search parameters
+     * @return the cache key of the search
+     */
+    public static DogSearchKey of(DogSearchRequestDto parameters) {
+        return new DogSearchKey(
+            DogSearchFilter.of(parameters),
+            parameters.getCursor(),
+            parameters.getFrom(),
+            parameters.getSize(),
+            parameters.getSort()
+        );
+    }
+
+    /**
+     * Rebuilds search parameters equivalent to the ones this key was built from, so a cached
+     * search can be run again.
+     *
+     * @return search parameters selecting the same page
+     */
+    public DogSearchRequestDto toRequest() {
+        return DogSearchRequestDto.builder()
+            .ageMax(filter.ageMax())
+            .ageMin(filter.ageMin())
+            .breeds(filter.breeds())
+            .cursor(cursor)
+            .distance(filter.distance())
+            .from(from)
+            .size(size)
+            .sort(sort)
+            .zip(filter.zip())
+            .zipCodes(filter.zipCodes())
+            .build();
+    }
+}
@@ -0,0 +1,104 @@
+package com.pupperfield.backend.cache;
+
+import com.github.benmanes.caffeine.cache.AsyncCacheLoader;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Reloads entries of a cache in the background once they are older than
+ * {@code pupperfield.cache.refresh.after-write}. Until a reload finishes, readers keep getting
+ * the old value, so a hot entry never waits for the database. Reloads run on a bounded executor;
+ * when it is busy, the old value is kept until the next read tries again.
+ */
+@Slf4j
+public abstract class RefreshingCacheLoader
+    implements AsyncCacheLoader<Object, Object>, AutoCloseable {
+    private final ExecutorService executor;
+    private final AtomicLong refreshCount = new AtomicLong();
+    private final AtomicLong refreshFailureCount = new AtomicLong();
+
+    /**
+     * Creates a loader.
+     *
+     * @param executor the bounded executor that loads run on
+     */
+    protected RefreshingCacheLoader(ExecutorService executor) {
+        this.executor = executor;
+    }
+
+    /**
+     * Loads an entry without any caching.
+     *
+     * @param key key of the entry
+     * @return the value to cache, or null if nothing should be cached
+     */
+    public abstract Object load(Object key);
+
+    /**
+     * Loads a missing entry. Entries are normally loaded by the caller that missed, so this only
+     * runs for lookups without a mapping function.
+     *
+     * @param key key of the entry
+     * @param ignored Caffeine's executor, which is not used
+     * @return the value, or null if nothing should be cached
+     */
+    public CompletableFuture<Object> asyncLoad(Object key, Executor ignored) {
+        return CompletableFuture.supplyAsync(() -> load(key), executor);
+    }
+
+    /**
+     * Reloads an entry whose old value is served in the meantime. A reload that fails leaves the
+     * old value in place, and one that returns null removes the entry.
+     *
+     * @param key key of the entry
+     * @param oldValue the value being served
+     * @param ignored Caffeine's executor, which is not used
+     * @return the new value, or the old one if the reload could not be scheduled
+     */
+    public CompletableFuture<Object> asyncReload(Object key, Object oldValue, Executor ignored) {
+        refreshCount.incrementAndGet();
+        try {
+            return CompletableFuture.supplyAsync(() -> load(key), executor)
+                .whenComplete((value, exception) -> {
+                    if (exception != null) {
+                        refreshFailureCount.incrementAndGet();
+                        log.warn("Failed to refresh {}", key, exception);
+                    }
+                });
+        } catch (RejectedExecutionException exception) {
+            refreshFailureCount.incrementAndGet();
+            log.debug("Skipped refreshing {} since the executor is busy", key);
+            return CompletableFuture.completedFuture(oldValue);
+        }
+    }
+
+    /**
+     * Stops the executor, abandoning queued reloads.
+     */
+    public void close() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * Returns how many refreshes have started.
+     *
+     * @return number of refreshes
+     */
+    public long getRefreshCount() {
+        return refreshCount.get();
+    }
+
+    /**
+     * Returns how many refreshes failed or could not be scheduled.
+     *
+     * @return number of failed refreshes
+     */
+    public long getRefreshFailureCount() {
+        return refreshFailureCount.get();
+    }
+}
@@ -0,0 +1,40 @@
+package com.pupperfield.backend.cache;
+
+import com.pupperfield.backend.model.DogSearchResult;
+
+import java.util.concurrent.ExecutorService;
+import java.util.function.Function;
+
+/**
+ * Reloads entries of the {@code searches} cache in the background, as described in
+ * {@link RefreshingCacheLoader}.
+ */
+public class SearchCacheLoader extends RefreshingCacheLoader {
+    private final Function<DogSearchKey, DogSearchResult> search;
+
+    /**
+     * Creates a loader.
+     *
+     * @param search runs a search without any caching
+     * @param executor the bounded executor that loads run on
+     */
+    public SearchCacheLoader(
+        Function<DogSearchKey, DogSearchResult> search,
+        ExecutorService executor
+    ) {
+        super(executor);
+        this.search = search;
+    }
+
+    /**
+     * Runs a search. Empty results are not cached, as in
+     * {@link com.pupperfield.backend.service.DogService#searchDogs DogService.searchDogs}.
+     *
+     * @param key key of the search
+     * @return the result, or null if nothing matched
+     */
+    public Object load(Object key) {
+        var result = search.apply((DogSearchKey) key);
+        return result.total() > 0 ? result : null;
+    }
+}
@@ -1,12 +1,22 @@
 package com.pupperfield.backend.config;
 
 import com.github.benmanes.caffeine.cache.Caffeine;
+import com.pupperfield.backend.cache.CacheWeigher;
+import com.pupperfield.backend.cache.DogCacheLoader;
+import com.pupperfield.backend.cache.SearchCacheLoader;
+import com.pupperfield.backend.service.DogService;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.cache.CacheManager;
 import org.springframework.cache.annotation.EnableCaching;
 import org.springframework.cache.caffeine.CaffeineCacheManager;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.util.unit.DataSize;
 
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
 
 /**
@@ -14,6 +24,7 @@ import java.util.concurrent.TimeUnit;
  */
 @Configuration
 @EnableCaching
+@EnableConfigurationProperties(CacheProperties.class)
 public class CacheConfig {
     /**
      * Cache name for /dogs/breeds.
@@ -21,9 +32,19 @@ public class CacheConfig {
     public static final String BREED_CACHE = "breeds";
 
     /**
-     * Cache name for /dogs.
+     * Cache name for dogs by ID, which /dogs is answered from.
      */
-    public static final String LIST_CACHE = "lists";
+    public static final String DOG_CACHE = "dogs";
+
+    /**
+     * Cache name for /dogs/facets.
+     */
+    public static final String FACET_CACHE = "facets";
+
+    /**
+     * Cache name for complete ordered ID lists of /dogs/search filters and sort orders.
+     */
+    public static final String ID_LIST_CACHE = "idLists";
 
     /**
      * Cache name for /dogs/search.
@@ -31,30 +52,136 @@ public class CacheConfig {
     public static final String SEARCH_CACHE = "searches";
 
     /**
-     * Creates a CacheManager using Caffeine as the provider. It contains three caches:
+     * Cache name for total counts of /dogs/search filters.
+     */
+    public static final String TOTAL_CACHE = "totals";
+
+    /**
+     * Creates a CacheManager using Caffeine as the provider. It contains six caches, each
+     * bounded by the estimated size of its entries under
+     * {@code pupperfield.cache.maximum-weight}:
      *
      * <ul>
      *     <li>{@code breeds} — no expiration</li>
-     *     <li>{@code lists} — expires 1 minute after last access</li>
-     *     <li>{@code searches} — expires 5 minutes after last access</li>
+     *     <li>{@code dogs} — expires 1 minute after last access and is refreshed in the
+     *     background {@code pupperfield.cache.refresh.after-write} after it was loaded</li>
+     *     <li>{@code facets} — expires 5 minutes after last access</li>
+     *     <li>{@code idLists} — expires 5 minutes after last access</li>
+     *     <li>{@code searches} — expires 5 minutes after last access and is refreshed like
+     *     {@code dogs}; asynchronous, so concurrent misses can share one load</li>
+     *     <li>{@code totals} — expires 5 minutes after last access</li>
      * </ul>
      *
+     * @param properties settings under {@code pupperfield.cache}
+     * @param dogCacheLoader reloads stale dogs
+     * @param searchCacheLoader reloads stale searches
      * @return a configured CacheManager instance
      */
     @Bean("cacheManager")
-    public CacheManager cacheManager() {
+    public CacheManager cacheManager(
+        CacheProperties properties,
+        DogCacheLoader dogCacheLoader,
+        SearchCacheLoader searchCacheLoader
+    ) {
+        var limits = properties.getMaximumWeight();
+        var afterWrite = properties.getRefresh().getAfterWrite();
         var cacheManager = new CaffeineCacheManager();
-        cacheManager.registerCustomCache(BREED_CACHE, Caffeine.newBuilder().build());
+        cacheManager.registerCustomCache(BREED_CACHE, bounded(limits.getBreeds()).build());
+        var dogs = bounded(limits.getDogs()).expireAfterAccess(1, TimeUnit.MINUTES);
+        if (afterWrite != null) {
+            dogs.refreshAfterWrite(afterWrite);
+        }
+        cacheManager.registerCustomCache(DOG_CACHE, dogs.build(dogCacheLoader));
         cacheManager.registerCustomCache(
-            LIST_CACHE, Caffeine.newBuilder()
-                .expireAfterAccess(1, TimeUnit.MINUTES)
+            FACET_CACHE, bounded(limits.getFacets())
+                .expireAfterAccess(5, TimeUnit.MINUTES)
+                .build()
+        );
+        cacheManager.registerCustomCache(
+            ID_LIST_CACHE, bounded(limits.getIdLists())
+                .expireAfterAccess(5, TimeUnit.MINUTES)
                 .build()
         );
+        var searches = bounded(limits.getSearches()).expireAfterAccess(5, TimeUnit.MINUTES);
+        if (afterWrite != null) {
+            searches.refreshAfterWrite(afterWrite);
+        }
+        cacheManager.registerCustomCache(SEARCH_CACHE, searches.buildAsync(searchCacheLoader));
         cacheManager.registerCustomCache(
-            SEARCH_CACHE, Caffeine.newBuilder()
+            TOTAL_CACHE, bounded(limits.getTotals())
                 .expireAfterAccess(5, TimeUnit.MINUTES)
                 .build()
         );
         return cacheManager;
     }
+
+    /**
+     * Creates the loader that refreshes the {@code dogs} cache on its own bounded pool.
+     *
+     * @param properties settings under {@code pupperfield.cache}
+     * @param dogService reads the dogs, looked up lazily since it needs the cache manager
+     * @return a loader reading dogs on a bounded pool
+     * @see #refreshPool(CacheProperties, String)
+     */
+    @Bean
+    public DogCacheLoader dogCacheLoader(
+        CacheProperties properties,
+        ObjectProvider<DogService> dogService
+    ) {
+        return new DogCacheLoader(ids -> dogService.getObject().loadDogs(ids),
+            refreshPool(properties, "dog-refresh-"));
+    }
+
+    /**
+     * Creates the loader that refreshes the {@code searches} cache on its own bounded pool.
+     *
+     * @param properties settings under {@code pupperfield.cache}
+     * @param dogService runs the searches, looked up lazily since it needs the cache manager
+     * @return a loader running searches on a bounded pool
+     * @see #refreshPool(CacheProperties, String)
+     */
+    @Bean
+    public SearchCacheLoader searchCacheLoader(
+        CacheProperties properties,
+        ObjectProvider<DogService> dogService
+    ) {
+        return new SearchCacheLoader(key -> dogService.getObject().loadSearch(key),
+            refreshPool(properties, "search-refresh-"));
+    }
+
+    /**
+     * Creates a pool for the reloads of one cache, with
+     * {@code pupperfield.cache.refresh.threads} threads and a queue of
+     * {@code pupperfield.cache.refresh.queue-capacity}, so a burst of stale entries cannot
+     * crowd out requests; refreshes beyond that are skipped and counted as failures. Each cache
+     * has its own pool, so stale dogs cannot hold back stale searches. The pools are not exposed
+     * as beans, which would replace the application task executor.
+     *
+     * @param properties settings under {@code pupperfield.cache}
+     * @param prefix prefix of the thread names
+     * @return a bounded pool of daemon threads
+     */
+    private static ExecutorService refreshPool(CacheProperties properties, String prefix) {
+        var refresh = properties.getRefresh();
+        return new ThreadPoolExecutor(
+            refresh.getThreads(), refresh.getThreads(), 0, TimeUnit.MILLISECONDS,
+            new ArrayBlockingQueue<>(refresh.getQueueCapacity()),
+            Thread.ofPlatform().daemon().name(prefix, 1).factory()
+        );
+    }
+
+    /**
+     * Starts a cache builder that evicts entries once their estimated size goes over a limit and
+     * records statistics for {@link com.pupperfield.backend.service.CacheStatsService
+     * CacheStatsService}.
+     *
+     * @param maximumWeight limit of the cache
+     * @return a Caffeine builder weighing entries with {@link CacheWeigher}
+     */
+    private static Caffeine<Object, Object> bounded(DataSize maximumWeight) {
+        return Caffeine.newBuilder()
+            .maximumWeight(maximumWeight.toBytes())
+            .recordStats()
+            .weigher(new CacheWeigher());
+    }
 }
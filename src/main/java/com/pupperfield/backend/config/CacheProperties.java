@@ -0,0 +1,95 @@
+package com.pupperfield.backend.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+
+/**
+ * Settings under {@code pupperfield.cache} that bound the memory each cache may use. Entries are
+ * weighed by {@link com.pupperfield.backend.cache.CacheWeigher CacheWeigher}, and the least
+ * valuable ones are evicted once the estimated total of a cache goes over its limit. They also
+ * control how stale searches are refreshed and who may read the statistics of the caches.
+ */
+@ConfigurationProperties("pupperfield.cache")
+@Data
+public class CacheProperties {
+    /**
+     * Maximum estimated size of each cache.
+     */
+    private MaximumWeight maximumWeight = new MaximumWeight();
+
+    /**
+     * Background refresh of the {@code dogs} and {@code searches} caches.
+     */
+    private Refresh refresh = new Refresh();
+
+    /**
+     * Token that GET /caches requires in the {@code X-Stats-Token} header on top of a login.
+     * Since anyone can log in, the endpoint refuses every request while this is not set.
+     */
+    private String statsToken = null;
+
+    /**
+     * Maximum estimated size of each cache, by cache name.
+     */
+    @Data
+    public static class MaximumWeight {
+        /**
+         * Limit of the {@code breeds} cache, which holds a single list of breeds.
+         */
+        private DataSize breeds = DataSize.ofKilobytes(64);
+
+        /**
+         * Limit of the {@code dogs} cache. A dog and its JSON take about 700 bytes, so every
+         * dog in the dataset fits in about 15 MB.
+         */
+        private DataSize dogs = DataSize.ofMegabytes(24);
+
+        /**
+         * Limit of the {@code facets} cache. Counts by zip code make up most of an entry, which
+         * takes about 1 MB for a filter matching every dog.
+         */
+        private DataSize facets = DataSize.ofMegabytes(16);
+
+        /**
+         * Limit of the {@code idLists} cache. A complete list of all dogs takes about 400 KB.
+         */
+        private DataSize idLists = DataSize.ofMegabytes(32);
+
+        /**
+         * Limit of the {@code searches} cache. A page of 25 dog IDs takes about 2 KB.
+         */
+        private DataSize searches = DataSize.ofMegabytes(32);
+
+        /**
+         * Limit of the {@code totals} cache. A total takes about 100 bytes plus its filter.
+         */
+        private DataSize totals = DataSize.ofMegabytes(4);
+    }
+
+    /**
+     * Background refresh of the {@code dogs} and {@code searches} caches. An entry read after
+     * {@code after-write} is served from the cache while it is reloaded on a separate bounded
+     * pool per cache, so hot dogs and searches never wait for the database.
+     */
+    @Data
+    public static class Refresh {
+        /**
+         * How old an entry is before a read triggers a reload; null disables refreshing.
+         */
+        private Duration afterWrite = Duration.ofMinutes(1);
+
+        /**
+         * Number of reloads of each cache that may wait for a thread; further refreshes are
+         * skipped.
+         */
+        private int queueCapacity = 100;
+
+        /**
+         * Number of threads running the reloads of each cache.
+         */
+        private int threads = 2;
+    }
+}
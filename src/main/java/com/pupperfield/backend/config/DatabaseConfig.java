@@ -2,6 +2,7 @@ package com.pupperfield.backend.config;
 
 import com.zaxxer.hikari.HikariConfig;
 import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
@@ -9,18 +10,62 @@ import org.springframework.context.annotation.Configuration;
  * A configuration class for setting up the data source using HikariCP.
  */
 @Configuration
+@EnableConfigurationProperties(DatabaseProperties.class)
 public class DatabaseConfig {
+    /**
+     * Opens and migrates the SQLite database, either the file at {@code pupperfield.datasource.url}
+     * or an in-memory copy of {@code pupperfield.datasource.location}. Migration runs through
+     * separate connections before the pool is created, so pooled connections can stay
+     * read-only.
+     *
+     * @param properties settings under {@code pupperfield.datasource}
+     * @return the database the pool connects to
+     */
+    @Bean
+    public SqliteDatabase sqliteDatabase(DatabaseProperties properties) {
+        return SqliteDatabase.open(properties);
+    }
+
     /**
      * Configures a HikariDataSource to set up a connection pool for a local database.
      *
+     * @param properties settings under {@code pupperfield.datasource}
+     * @param database the migrated database to connect to
      * @return a configured data source with information connecting to the database
      */
     @Bean("dataSource")
-    public HikariDataSource dataSource() {
+    public HikariDataSource dataSource(DatabaseProperties properties, SqliteDatabase database) {
         var config = new HikariConfig();
-        config.setConnectionTimeout(1000);    // Wait for a second maximum for a connection
-        config.setJdbcUrl("jdbc:sqlite:src/main/resources/database/dogs.db");
+        config.setConnectionTimeout(properties.getConnectionTimeout().toMillis());
+        config.setJdbcUrl(database.getUrl());
         config.setPoolName("pupperfield");
+        applySqliteSettings(config, properties.getSqlite());
         return new HikariDataSource(config);
     }
+
+    /**
+     * Applies SQLite PRAGMAs to every connection in the pool. The driver runs the ones it knows
+     * as connection properties when it opens a connection; {@code query_only} is not one of
+     * them, so it is set through Hikari's init SQL instead.
+     *
+     * @param config the pool configuration to change
+     * @param sqlite the PRAGMA values
+     */
+    static void applySqliteSettings(HikariConfig config, DatabaseProperties.Sqlite sqlite) {
+        if (sqlite.getCacheSize() != null) {
+            config.addDataSourceProperty("cache_size", sqlite.getCacheSize().toString());
+        }
+        if (sqlite.getJournalMode() != null) {
+            config.addDataSourceProperty("journal_mode", sqlite.getJournalMode());
+        }
+        if (sqlite.getMmapSize() != null) {
+            config.addDataSourceProperty("mmap_size", sqlite.getMmapSize().toString());
+        }
+        if (sqlite.getTempStore() != null) {
+            config.addDataSourceProperty("temp_store", sqlite.getTempStore());
+        }
+        if (sqlite.isQueryOnly()) {
+            config.setConnectionInitSql("PRAGMA query_only = true");
+        }
+    }
 }
@@ -0,0 +1,185 @@
+package com.pupperfield.backend.config;
+
+import lombok.AllArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Checks the secondary indexes of the {@code Dog} table. Without them, every filtered or sorted
+ * search would scan the whole table. The populator creates the indexes for the query shapes
+ * {@link com.pupperfield.backend.spec.DogSpecs DogSpecs} produces, and this class checks with
+ * {@code EXPLAIN QUERY PLAN} that SQLite actually uses them. It can also add missing indexes to
+ * a database that the service owns, such as the in-memory copy, but never to the database file
+ * itself, so a database file without them is refused at startup.
+ * <p>
+ * Since the table is {@code WITHOUT ROWID}, every index implicitly ends with the primary key, so
+ * each index covers an "ORDER BY field, id" sort and the count queries without touching the
+ * table itself.
+ */
+@AllArgsConstructor
+@Slf4j
+public class DatabaseMigration {
+    /**
+     * Indexes managed by the service, each with a query that should be answered through it.
+     */
+    public static final List<IndexDefinition> INDEXES = List.of(
+        new IndexDefinition(
+            "DogAgeIndex",
+            "CREATE INDEX IF NOT EXISTS DogAgeIndex ON Dog (age, id)",
+            "SELECT id FROM Dog ORDER BY age, id"
+        ),
+        new IndexDefinition(
+            "DogBreedAgeIndex",
+            "CREATE INDEX IF NOT EXISTS DogBreedAgeIndex ON Dog (breed, age, id)",
+            "SELECT COUNT(id) FROM Dog WHERE breed = '' AND age >= 0"
+        ),
+        new IndexDefinition(
+            "DogBreedIndex",
+            "CREATE INDEX IF NOT EXISTS DogBreedIndex ON Dog (breed, id)",
+            "SELECT id FROM Dog ORDER BY breed, id"
+        ),
+        new IndexDefinition(
+            "DogNameIndex",
+            "CREATE INDEX IF NOT EXISTS DogNameIndex ON Dog (name, id)",
+            "SELECT id FROM Dog ORDER BY name, id"
+        ),
+        new IndexDefinition(
+            "DogZipCodeIndex",
+            "CREATE INDEX IF NOT EXISTS DogZipCodeIndex ON Dog (zip_code, id)",
+            "SELECT id FROM Dog WHERE zip_code = '' ORDER BY id"
+        )
+    );
+
+    private DataSource dataSource;
+
+    /**
+     * Creates missing indexes, refreshes planner statistics if anything changed, and verifies
+     * that every index is picked for its query.
+     *
+     * @return names of indexes that SQLite did not use for their queries
+     * @throws IllegalStateException if the schema cannot be migrated
+     */
+    public List<String> migrate() {
+        long start = System.nanoTime();
+        try (var connection = dataSource.getConnection()) {
+            var created = new ArrayList<String>();
+            for (var index : INDEXES) {
+                if (exists(connection, index.name()) == false) {
+                    try (var statement = connection.createStatement()) {
+                        statement.execute(index.definition());
+                    }
+                    created.add(index.name());
+                }
+            }
+            if (created.isEmpty() == false) {
+                try (var statement = connection.createStatement()) {
+                    statement.execute("ANALYZE");
+                }
+                log.info("Created indexes {} in {} ms", created,
+                    TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+            }
+            return verify(connection);
+        } catch (SQLException exception) {
+            throw new IllegalStateException("Failed to migrate the database schema", exception);
+        }
+    }
+
+    /**
+     * Verifies that every index exists and is picked for its query without changing the
+     * database.
+     *
+     * @return names of indexes that SQLite did not use for their queries
+     * @throws IllegalStateException if any index is missing or the schema cannot be read
+     */
+    public List<String> check() {
+        try (var connection = dataSource.getConnection()) {
+            var missing = new ArrayList<String>();
+            for (var index : INDEXES) {
+                if (exists(connection, index.name()) == false) {
+                    missing.add(index.name());
+                }
+            }
+            if (missing.isEmpty() == false) {
+                throw new IllegalStateException(("Indexes %s are missing; regenerate the "
+                    + "database with the populator or set pupperfield.datasource.in-memory to add "
+                    + "them").formatted(missing));
+            }
+            return verify(connection);
+        } catch (SQLException exception) {
+            throw new IllegalStateException("Failed to check the database schema", exception);
+        }
+    }
+
+    /**
+     * Checks whether an index exists.
+     *
+     * @param connection an open connection
+     * @param name index name
+     * @return whether the index exists
+     * @throws SQLException if the schema cannot be read
+     */
+    private static boolean exists(Connection connection, String name) throws SQLException {
+        try (var statement = connection.prepareStatement(
+            "SELECT 1 FROM sqlite_master WHERE type = 'index' AND name = ?")) {
+            statement.setString(1, name);
+            try (var result = statement.executeQuery()) {
+                return result.next();
+            }
+        }
+    }
+
+    /**
+     * Runs {@code EXPLAIN QUERY PLAN} on the query of every index and warns about indexes that
+     * are not used.
+     *
+     * @param connection an open connection
+     * @return names of unused indexes
+     * @throws SQLException if a plan cannot be read
+     */
+    private static List<String> verify(Connection connection) throws SQLException {
+        var unused = new ArrayList<String>();
+        for (var index : INDEXES) {
+            var plan = explain(connection, index.query());
+            if (plan.contains(" INDEX %s".formatted(index.name())) == false) {
+                log.warn("Index {} is not used by \"{}\": {}", index.name(), index.query(), plan);
+                unused.add(index.name());
+            }
+        }
+        return unused;
+    }
+
+    /**
+     * Gets the query plan of a statement.
+     *
+     * @param connection an open connection
+     * @param query the statement to explain
+     * @return details of every step of the plan, one per line
+     * @throws SQLException if the plan cannot be read
+     */
+    public static String explain(Connection connection, String query) throws SQLException {
+        var plan = new StringBuilder();
+        try (var statement = connection.createStatement();
+             var result = statement.executeQuery("EXPLAIN QUERY PLAN " + query)) {
+            while (result.next()) {
+                plan.append(result.getString("detail")).append('\n');
+            }
+        }
+        return plan.toString();
+    }
+
+    /**
+     * A secondary index on the {@code Dog} table.
+     *
+     * @param name index name
+     * @param definition idempotent DDL creating the index
+     * @param query a query SQLite should answer through the index
+     */
+    public record IndexDefinition(String name, String definition, String query) {
+    }
+}
@@ -0,0 +1,78 @@
+package com.pupperfield.backend.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.core.io.Resource;
+
+import java.time.Duration;
+
+/**
+ * Settings under {@code pupperfield.datasource} for the SQLite connection pool. The defaults
+ * suit the dataset, which is never written to at runtime.
+ */
+@ConfigurationProperties("pupperfield.datasource")
+@Data
+public class DatabaseProperties {
+    /**
+     * How long to wait for a connection from the pool.
+     */
+    private Duration connectionTimeout = Duration.ofSeconds(1);
+
+    /**
+     * Whether to copy the database at {@code location} into a shared-cache in-memory database
+     * at startup and serve every query from it instead of {@code url}.
+     */
+    private boolean inMemory = false;
+
+    /**
+     * The database file copied into memory when {@code in-memory} is set. It may live inside a
+     * packaged jar.
+     */
+    private Resource location = new ClassPathResource("database/dogs.db");
+
+    /**
+     * Per-connection SQLite settings.
+     */
+    private Sqlite sqlite = new Sqlite();
+
+    /**
+     * JDBC URL of the database when it is not loaded into memory.
+     */
+    private String url = "jdbc:sqlite:src/main/resources/database/dogs.db";
+
+    /**
+     * SQLite PRAGMAs applied to every pooled connection. A null value leaves the SQLite default.
+     */
+    @Data
+    public static class Sqlite {
+        /**
+         * Page cache size; positive values are pages and negative values are KiB
+         * ({@code PRAGMA cache_size}).
+         */
+        private Integer cacheSize = -16384;
+
+        /**
+         * Rollback journal mode ({@code PRAGMA journal_mode}). Pooled connections never write,
+         * so no journal is kept by default.
+         */
+        private String journalMode = "OFF";
+
+        /**
+         * Maximum number of bytes of the database file to memory-map
+         * ({@code PRAGMA mmap_size}), which lets reads skip copying pages into the page cache.
+         */
+        private Long mmapSize = 64L * 1024 * 1024;
+
+        /**
+         * Whether connections refuse any change to the database ({@code PRAGMA query_only}).
+         */
+        private boolean queryOnly = true;
+
+        /**
+         * Where temporary tables and indexes, such as sorters, are kept
+         * ({@code PRAGMA temp_store}).
+         */
+        private String tempStore = "MEMORY";
+    }
+}
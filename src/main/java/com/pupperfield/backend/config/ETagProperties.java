@@ -0,0 +1,24 @@
+package com.pupperfield.backend.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Settings under {@code pupperfield.etag} for conditional requests to the endpoints whose
+ * responses only depend on the dataset.
+ */
+@ConfigurationProperties("pupperfield.etag")
+@Data
+public class ETagProperties {
+    /**
+     * Whether to send ETags and answer matching {@code If-None-Match} headers with HTTP 304.
+     */
+    private boolean enabled = true;
+
+    /**
+     * How long a client may reuse a response before revalidating it.
+     */
+    private Duration maxAge = Duration.ofMinutes(1);
+}
@@ -0,0 +1,12 @@
+package com.pupperfield.backend.config;
+
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * A configuration class for binding the search and zip code settings.
+ */
+@Configuration
+@EnableConfigurationProperties({SearchProperties.class, ZipCodeProperties.class})
+public class SearchConfig {
+}
@@ -0,0 +1,68 @@
+package com.pupperfield.backend.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Settings under {@code pupperfield.search} that control how /dogs/search is answered.
+ */
+@ConfigurationProperties("pupperfield.search")
+@Data
+public class SearchProperties {
+    /**
+     * Maximum number of searches from /dogs/search/batch requests that run at the same time,
+     * across all of them.
+     */
+    private int batchConcurrency = 4;
+
+    /**
+     * Maximum sum of the page sizes of one /dogs/search/batch request. Batch results are never
+     * streamed, so by default a batch may hold no more dog IDs in memory than a single page below
+     * the stream threshold.
+     */
+    private int batchMaxResults = 1000;
+
+    /**
+     * Whether the JPA engine runs the count query alongside the page query when the total of a
+     * filter is not cached yet, trading a second connection for lower latency.
+     */
+    private boolean concurrentCount = false;
+
+    /**
+     * The engine that evaluates search filters, sorting and paging.
+     */
+    private Engine engine = Engine.JPA;
+
+    /**
+     * Whether the JPA engine caches the complete ordered list of dog IDs once per filter and sort
+     * order and answers every offset-based page as a slice of it, instead of caching and querying
+     * each page on its own.
+     */
+    private boolean idListCache = false;
+
+    /**
+     * Page size above which offset-based searches are streamed to the client instead of being
+     * collected, cached and serialized at once.
+     */
+    private int streamThreshold = 1000;
+
+    /**
+     * Available search engines.
+     */
+    public enum Engine {
+        /**
+         * Translates every search into SQL through Spring Data JPA.
+         */
+        JPA,
+
+        /**
+         * Answers every search from an in-memory columnar index of the {@code Dog} table.
+         */
+        MEMORY,
+
+        /**
+         * Runs both engines, logs their latency and any disagreement, and returns the JPA result.
+         */
+        COMPARE
+    }
+}
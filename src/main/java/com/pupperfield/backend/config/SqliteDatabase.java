@@ -0,0 +1,140 @@
+package com.pupperfield.backend.config;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.io.Resource;
+import org.sqlite.SQLiteConfig;
+import org.sqlite.SQLiteDataSource;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The SQLite database the connection pool points at, with its indexes checked by
+ * {@link DatabaseMigration}. It is either the database file itself or, when
+ * {@code pupperfield.datasource.in-memory} is set, a shared-cache in-memory copy of it. An
+ * in-memory database only lives as long as a connection to it is open, so this object holds one
+ * until it is closed.
+ */
+@AllArgsConstructor
+@Slf4j
+public class SqliteDatabase implements AutoCloseable {
+    private Connection keeper;
+
+    @Getter
+    private String url;
+
+    /**
+     * Opens the database described by the settings. The database file is only checked through
+     * a read-only connection, since it may be tracked in version control, while an in-memory
+     * copy is migrated.
+     *
+     * @param properties settings under {@code pupperfield.datasource}
+     * @return the database to connect to
+     * @throws IllegalStateException if the database cannot be restored, checked or migrated
+     */
+    public static SqliteDatabase open(DatabaseProperties properties) {
+        if (properties.isInMemory() == false) {
+            var config = new SQLiteConfig();
+            config.setReadOnly(true);
+            var dataSource = new SQLiteDataSource(config);
+            dataSource.setUrl(properties.getUrl());
+            new DatabaseMigration(dataSource).check();
+            return new SqliteDatabase(null, properties.getUrl());
+        }
+
+        long start = System.nanoTime();
+        var url = "jdbc:sqlite:file:pupperfield-%s?mode=memory&cache=shared"
+            .formatted(UUID.randomUUID());
+        Connection keeper = null;
+        try {
+            keeper = dataSource(url).getConnection();
+            restore(keeper, properties.getLocation());
+            new DatabaseMigration(dataSource(url)).migrate();
+        } catch (IOException | SQLException | RuntimeException exception) {
+            closeQuietly(keeper);
+            throw new IllegalStateException(
+                "Failed to load %s into memory".formatted(properties.getLocation()), exception);
+        }
+        log.info("Loaded {} into memory in {} ms", properties.getLocation(),
+            TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+        return new SqliteDatabase(keeper, url);
+    }
+
+    /**
+     * Releases the in-memory database, if any.
+     *
+     * @throws SQLException if the connection cannot be closed
+     */
+    public void close() throws SQLException {
+        if (keeper != null) {
+            keeper.close();
+        }
+    }
+
+    /**
+     * Creates an unpooled data source for setup work, which needs to write.
+     *
+     * @param url JDBC URL of the database
+     * @return a data source opening a new connection every time
+     */
+    private static SQLiteDataSource dataSource(String url) {
+        var dataSource = new SQLiteDataSource();
+        dataSource.setUrl(url);
+        return dataSource;
+    }
+
+    /**
+     * Copies a database file into the database of a connection with the driver's online backup
+     * support. The driver restores from a path only, so a resource that is not a file, such as
+     * an entry inside a packaged jar, is extracted to a temporary file first.
+     *
+     * @param connection connection to the target database
+     * @param location the database file to copy
+     * @throws IOException if the resource cannot be read
+     * @throws SQLException if the restore fails
+     */
+    private static void restore(Connection connection, Resource location)
+        throws IOException, SQLException {
+        Path source, extracted = null;
+        if (location.isFile()) {
+            source = location.getFile().toPath();
+        } else {
+            extracted = source = Files.createTempFile("dogs", ".db");
+            try (var input = location.getInputStream()) {
+                Files.copy(input, source, StandardCopyOption.REPLACE_EXISTING);
+            }
+        }
+
+        try (var statement = connection.createStatement()) {
+            statement.executeUpdate("restore from '%s'"
+                .formatted(source.toAbsolutePath().toString().replace("'", "''")));
+        } finally {
+            if (extracted != null) {
+                Files.deleteIfExists(extracted);
+            }
+        }
+    }
+
+    /**
+     * Closes a connection while another error is being reported.
+     *
+     * @param connection the connection to close, or null
+     */
+    private static void closeQuietly(Connection connection) {
+        if (connection != null) {
+            try {
+                connection.close();
+            } catch (SQLException exception) {
+                log.debug("Failed to close connection", exception);
+            }
+        }
+    }
+}
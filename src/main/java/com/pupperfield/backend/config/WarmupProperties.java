@@ -0,0 +1,40 @@
+package com.pupperfield.backend.config;
+
+import com.pupperfield.backend.model.DogSearchRequestDto;
+import jakarta.validation.Valid;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.validation.annotation.Validated;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Settings under {@code pupperfield.warmup} for the work done at startup before the application
+ * accepts requests.
+ */
+@ConfigurationProperties("pupperfield.warmup")
+@Data
+@Validated
+public class WarmupProperties {
+    /**
+     * Whether to search for the default first page of every breed.
+     */
+    private boolean breedSearches = true;
+
+    /**
+     * Whether to warm up the application at all.
+     */
+    private boolean enabled = true;
+
+    /**
+     * Maximum number of dogs, taken from the warmup search results, to look up through /dogs.
+     */
+    private int listSize = 100;
+
+    /**
+     * Representative searches to run, in addition to the breed searches.
+     */
+    @Valid
+    private List<DogSearchRequestDto> searches = new ArrayList<>();
+}
@@ -1,6 +1,7 @@
 package com.pupperfield.backend.config;
 
 import lombok.AllArgsConstructor;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.http.HttpMethod;
 import org.springframework.web.servlet.config.annotation.CorsRegistry;
@@ -8,10 +9,11 @@ import org.springframework.web.servlet.config.annotation.EnableWebMvc;
 import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
 
 /**
- * A configuration class for HTTP settings such as CORS.
+ * A configuration class for HTTP settings such as CORS and conditional requests.
  */
 @AllArgsConstructor
 @Configuration
+@EnableConfigurationProperties(ETagProperties.class)
 @EnableWebMvc
 public class WebConfig implements WebMvcConfigurer {
     /**
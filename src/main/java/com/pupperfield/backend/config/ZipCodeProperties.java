@@ -0,0 +1,44 @@
+package com.pupperfield.backend.config;
+
+import com.pupperfield.backend.index.ZipCodeGrid;
+import jakarta.validation.constraints.AssertTrue;
+import jakarta.validation.constraints.Positive;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.core.io.Resource;
+import org.springframework.validation.annotation.Validated;
+
+/**
+ * Settings under {@code pupperfield.zip-code} for radius searches around a zip code.
+ */
+@ConfigurationProperties("pupperfield.zip-code")
+@Data
+@Validated
+public class ZipCodeProperties {
+    /**
+     * Width and height in degrees of a cell of the grid the centroids are indexed by. A cell of
+     * half a degree is about 35 miles high, so a typical radius search visits a handful of them.
+     * It must divide 360, so the columns wrap exactly at the antimeridian.
+     */
+    @Positive(message = "cell-size must be positive")
+    private double cellSize = 0.5;
+
+    /**
+     * A CSV file of zip code centroids with the columns zip code, latitude and longitude in
+     * degrees. A header line and lines starting with "#" are skipped. It may live inside a
+     * packaged jar. The populator writes it for every zip code in the database. Without it, an
+     * error is logged at startup and radius searches are answered with HTTP 503.
+     */
+    private Resource centroids = new ClassPathResource("geo/zip-centroids.csv");
+
+    /**
+     * Checks that the cell size divides the 360 degrees of longitude.
+     *
+     * @return whether the cell size can be used
+     */
+    @AssertTrue(message = "cell-size must divide 360 degrees")
+    public boolean isCellSizeValid() {
+        return ZipCodeGrid.isValidCellSize(cellSize);
+    }
+}
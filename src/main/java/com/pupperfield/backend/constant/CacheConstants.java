@@ -0,0 +1,19 @@
+package com.pupperfield.backend.constant;
+
+import lombok.NoArgsConstructor;
+
+/**
+ * Constants for the cache endpoints.
+ */
+@NoArgsConstructor(access = lombok.AccessLevel.PRIVATE)
+public class CacheConstants {
+    /**
+     * The path for reporting cache statistics.
+     */
+    public static final String CACHES_PATH = "/caches";
+
+    /**
+     * The header carrying the token that reading cache statistics requires.
+     */
+    public static final String STATS_TOKEN_HEADER = "X-Stats-Token";
+}
@@ -17,13 +17,28 @@ public class DogConstants {
      */
     public static final String DOG_BREEDS_PATH = DOGS_PATH + "/breeds";
 
+    /**
+     * The path for counting dogs by breed, age and zip code.
+     */
+    public static final String DOG_FACETS_PATH = DOGS_PATH + "/facets";
+
     /**
      * The path for matching a dog.
      */
     public static final String DOG_MATCH_PATH = DOGS_PATH + "/match";
 
+    /**
+     * The path for suggesting dog names by prefix.
+     */
+    public static final String DOG_NAME_SUGGEST_PATH = DOGS_PATH + "/names/suggest";
+
     /**
      * The path for searching dogs.
      */
     public static final String DOG_SEARCH_PATH = DOGS_PATH + "/search";
+
+    /**
+     * The path for running several searches at once.
+     */
+    public static final String DOG_SEARCH_BATCH_PATH = DOG_SEARCH_PATH + "/batch";
 }
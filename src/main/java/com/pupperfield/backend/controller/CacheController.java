@@ -0,0 +1,101 @@
+package com.pupperfield.backend.controller;
+
+import com.pupperfield.backend.config.CacheProperties;
+import com.pupperfield.backend.model.CacheStatsDto;
+import com.pupperfield.backend.service.CacheStatsService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.ExampleObject;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.AllArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.util.List;
+
+import static com.pupperfield.backend.constant.CacheConstants.CACHES_PATH;
+import static com.pupperfield.backend.constant.CacheConstants.STATS_TOKEN_HEADER;
+
+@AllArgsConstructor
+@RestController
+@Tag(description = "Report how effective the caches of the application are.", name = "Caches")
+public class CacheController {
+    private CacheProperties cacheProperties;
+    private CacheStatsService cacheStatsService;
+
+    @GetMapping(CACHES_PATH)
+    @Operation(
+        description = "Returns hit, miss, eviction and load statistics along with the estimated "
+            + "size of every cache since the application started. Caches are sorted by name. "
+            + "Loads are counted and timed for every cache except breeds, whose only entry is "
+            + "stored after it is computed. "
+            + "Besides a login, the X-Stats-Token header must match "
+            + "pupperfield.cache.stats-token; without that setting, every request is refused.",
+        method = "GET",
+        responses = {
+            @ApiResponse(
+                content = {@Content(
+                    examples = {@ExampleObject(value = "[{\"averageLoadMillis\":0.0,"
+                        + "\"evictionCount\":0,\"evictionWeight\":0,\"hitCount\":1,"
+                        + "\"hitRate\":0.5,\"loadCount\":0,\"maximumWeight\":65536,"
+                        + "\"missCount\":1,\"name\":\"breeds\",\"size\":1,"
+                        + "\"weightedSize\":7104}]")},
+                    mediaType = "application/json"
+                )},
+                description = "OK",
+                responseCode = "200"
+            ),
+            @ApiResponse(
+                content = {@Content(
+                    examples = {@ExampleObject(value = "Unauthorized")},
+                    mediaType = "text/plain"
+                )},
+                description = "Unauthorized",
+                responseCode = "401"
+            ),
+            @ApiResponse(
+                content = {@Content(
+                    examples = {@ExampleObject(value = "{\"error\":\"Forbidden\",\"details\":"
+                        + "[\"a valid X-Stats-Token header is required\"]}")},
+                    mediaType = "application/json"
+                )},
+                description = "Missing or wrong stats token",
+                responseCode = "403"
+            )
+        },
+        summary = "Display statistics of every cache."
+    )
+    public List<CacheStatsDto> getStats(
+        @Parameter(description = "The token set in pupperfield.cache.stats-token")
+        @RequestHeader(name = STATS_TOKEN_HEADER, required = false)
+        String token
+    ) {
+        if (isAuthorized(token) == false) {
+            throw new ResponseStatusException(
+                HttpStatus.FORBIDDEN, "a valid X-Stats-Token header is required");
+        }
+        return cacheStatsService.getStats();
+    }
+
+    /**
+     * Compares a token with {@code pupperfield.cache.stats-token} in constant time.
+     *
+     * @param token the token sent by the client, or null if none was sent
+     * @return whether the token is set and matches
+     */
+    private boolean isAuthorized(String token) {
+        var expected = cacheProperties.getStatsToken();
+        if (expected == null || expected.isEmpty() || token == null) {
+            return false;
+        }
+        return MessageDigest.isEqual(
+            expected.getBytes(StandardCharsets.UTF_8), token.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -1,41 +1,65 @@
 package com.pupperfield.backend.controller;
 
 import com.pupperfield.backend.model.DogDto;
+import com.pupperfield.backend.model.DogFacetsDto;
+import com.pupperfield.backend.model.DogNameSuggestionDto;
 import com.pupperfield.backend.model.DogSearchRequestDto;
 import com.pupperfield.backend.model.DogSearchResponseDto;
+import com.pupperfield.backend.model.DogSearchResult;
+import com.pupperfield.backend.model.StreamedDogSearchResponseDto;
+import com.pupperfield.backend.service.DatasetETagService;
+import com.pupperfield.backend.service.DogFacetService;
+import com.pupperfield.backend.service.DogNameService;
 import com.pupperfield.backend.service.DogService;
+import com.pupperfield.backend.service.ZipCodeService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.ArraySchema;
 import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.ExampleObject;
+import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
+import jakarta.validation.constraints.Max;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
 import jakarta.validation.constraints.Size;
 import lombok.AllArgsConstructor;
-import org.springframework.data.util.Pair;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
+import java.io.IOException;
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.List;
 import java.util.Map;
 
 import static com.pupperfield.backend.constant.DogConstants.DOGS_PATH;
 import static com.pupperfield.backend.constant.DogConstants.DOG_BREEDS_PATH;
+import static com.pupperfield.backend.constant.DogConstants.DOG_FACETS_PATH;
 import static com.pupperfield.backend.constant.DogConstants.DOG_MATCH_PATH;
+import static com.pupperfield.backend.constant.DogConstants.DOG_NAME_SUGGEST_PATH;
+import static com.pupperfield.backend.constant.DogConstants.DOG_SEARCH_BATCH_PATH;
 import static com.pupperfield.backend.constant.DogConstants.DOG_SEARCH_PATH;
 
 @AllArgsConstructor
 @RestController
 @Tag(description = "Execute operations upon dogs stored in the database.", name = "Dogs")
 public class DogController {
+    private DatasetETagService datasetETagService;
+    private DogFacetService dogFacetService;
+    private DogNameService dogNameService;
     private DogService dogService;
+    private ZipCodeService zipCodeService;
 
     @GetMapping(DOG_BREEDS_PATH)
     @Operation(
@@ -62,8 +86,130 @@ public class DogController {
         },
         summary = "Retrieve a list of all dog breeds in the database."
     )
-    public Collection<String> getBreeds() {
-        return dogService.getBreeds();
+    public ResponseEntity<Collection<String>> getBreeds(HttpServletRequest request) {
+        return datasetETagService.respond(request, dogService::getBreeds);
+    }
+
+    @GetMapping(DOG_FACETS_PATH)
+    @Operation(
+        description = "Counts the dogs matching the filters of GET /dogs/search by breed, age "
+            + "and zip code in one request. Only ageMax, ageMin, breeds, zipCodes, zip and "
+            + "distance are used; paging and sorting parameters are accepted and ignored. Values "
+            + "without any matching dog are left out.",
+        method = "GET",
+        responses = {
+            @ApiResponse(
+                content = {@Content(
+                    examples = {
+                        @ExampleObject(value = "{\"ages\":{\"2\":80,\"3\":70},\"breeds\":" +
+                            "{\"Affenpinscher\":150},\"total\":150,\"zipCodes\":" +
+                            "{\"06519\":1}}")
+                    },
+                    mediaType = "application/json"
+                )},
+                description = "OK",
+                responseCode = "200"
+            ),
+            @ApiResponse(
+                content = {@Content(
+                    examples = {@ExampleObject(value = "Unauthorized")},
+                    mediaType = "text/plain"
+                )},
+                description = "Unauthorized",
+                responseCode = "401"
+            ),
+            @ApiResponse(
+                content = {@Content(
+                    examples = {@ExampleObject(value = "{\"error\":" +
+                        "\"Unprocessable Entity\",\"detail\":[" +
+                        "\"ageMin must be zero or positive\"]}")},
+                    mediaType = "application/json"
+                )},
+                description = "Invalid request",
+                responseCode = "422"
+            ),
+            @ApiResponse(
+                content = {@Content(
+                    examples = {@ExampleObject(value = "{\"error\":" +
+                        "\"Service Unavailable\",\"details\":[\"radius searches are not " +
+                        "available without zip code centroids\"]}")},
+                    mediaType = "application/json"
+                )},
+                description = "Radius search without zip code centroids",
+                responseCode = "503"
+            )
+        },
+        summary = "Count dogs that match the search criteria by breed, age and zip code."
+    )
+    public ResponseEntity<DogFacetsDto> getFacets(
+        @Valid DogSearchRequestDto parameters,
+        HttpServletRequest request
+    ) {
+        return datasetETagService.respond(request, () -> {
+            zipCodeService.checkRadius(parameters);
+            return dogFacetService.getFacets(parameters);
+        });
+    }
+
+    @GetMapping(DOG_NAME_SUGGEST_PATH)
+    @Operation(
+        description = "Finds dog names that start with a prefix, ignoring case, for "
+            + "autocomplete. Names are sorted alphabetically and come with the number of dogs "
+            + "having them. When breeds are given, only dogs of those breeds are counted.",
+        method = "GET",
+        responses = {
+            @ApiResponse(
+                content = {@Content(
+                    examples = {
+                        @ExampleObject(value = "[{\"count\":12,\"name\":\"Bella\"}," +
+                            "{\"count\":3,\"name\":\"Benny\"}]")
+                    },
+                    mediaType = "application/json"
+                )},
+                description = "OK",
+                responseCode = "200"
+            ),
+            @ApiResponse(
+                content = {@Content(
+                    examples = {@ExampleObject(value = "Unauthorized")},
+                    mediaType = "text/plain"
+                )},
+                description = "Unauthorized",
+                responseCode = "401"
+            ),
+            @ApiResponse(
+                content = {@Content(
+                    examples = {@ExampleObject(value = "{\"error\":" +
+                        "\"Unprocessable Entity\",\"detail\":[" +
+                        "\"prefix must not be empty\"]}")},
+                    mediaType = "application/json"
+                )},
+                description = "Invalid request",
+                responseCode = "422"
+            )
+        },
+        summary = "Suggest dog names that start with a prefix."
+    )
+    public ResponseEntity<List<DogNameSuggestionDto>> suggestNames(
+        @NotBlank(message = "prefix must not be empty")
+        @Parameter(description = "The start of the name")
+        @RequestParam(required = false)
+        @Size(max = 30, message = "prefix should not have more than 30 characters")
+        String prefix,
+        @Parameter(description = "Breeds the dogs must have")
+        @RequestParam(required = false)
+        @Size(message = "breeds should not be empty", min = 1)
+        List<@NotBlank(message = "a breed must not be empty") @Size(max = 30, message =
+            "a breed should not have more than 30 characters") String> breeds,
+        @Max(message = "size must be at most 50", value = 50)
+        @Parameter(description = "Maximum number of names to return")
+        @Positive(message = "size must be positive")
+        @RequestParam(defaultValue = "10")
+        int size,
+        HttpServletRequest request
+    ) {
+        return datasetETagService.respond(request,
+            () -> dogNameService.suggest(prefix.strip(), breeds, size));
     }
 
     @Operation(
@@ -85,6 +231,7 @@ public class DogController {
         responses = {
             @ApiResponse(
                 content = {@Content(
+                    array = @ArraySchema(schema = @Schema(implementation = DogDto.class)),
                     examples = {
                         @ExampleObject(value = "[{\"img\":\"https://frontend" +
                             "-take-home.fetch.com/dog-images/n02110627-" +
@@ -119,8 +266,8 @@ public class DogController {
         },
         summary = "Get a list of dog details based on the array passed in."
     )
-    @PostMapping(DOGS_PATH)
-    public List<DogDto> list(
+    @PostMapping(path = DOGS_PATH, produces = MediaType.APPLICATION_JSON_VALUE)
+    public void list(
         @NotNull(message = "body must not be null")
         @Parameter(
             description = "Dog IDs",
@@ -130,9 +277,10 @@ public class DogController {
         @RequestBody
         @Size(max = 100, message = "body must have at most 100 dog IDs")
         List<@NotBlank(message = "a dog ID must not be empty") @Size(max = 20, message =
-            "a dog ID should have at most 20 characters") @Valid String> idList
-    ) {
-        return dogService.listDogs(idList);
+            "a dog ID should have at most 20 characters") @Valid String> idList,
+        HttpServletResponse response
+    ) throws IOException {
+        writeDogs(dogService.listDogsAsJson(idList), response);
     }
 
     @Operation(
@@ -192,8 +340,9 @@ public class DogController {
     @Operation(
         description = "Searches for dogs in the database using filter conditions from request "
             + "parameters. All parameters are optional; by default, size is 25, from is 0, and "
-            + "sort is breed:asc. Note only dog IDs are returned, please use POST /dogs to "
-            + "retrieve full dog information. Unlike the original implementation:"
+            + "sort is breed:asc. Note only dog IDs are returned unless \"include=dogs\" is "
+            + "passed, please use POST /dogs to retrieve full dog information otherwise. Unlike "
+            + "the original implementation:"
             + "<ul>"
             + "<li>Maximum number of dogs can be as much as the total number of rows in "
                 + "database.</li>"
@@ -214,6 +363,22 @@ public class DogController {
             + "<ul><li>For \"next,\" it is included when \"from\" is greater than zero but "
                 + "less than the total number of result.</li></ul>"
             + "</li>"
+            + "<li>"
+            + "Keyset pagination is available by passing an empty \"cursor\" parameter."
+            + "<ul><li>\"next\" and \"prev\" then carry a cursor instead of \"from,\" so deep "
+                + "pages are as fast as the first one.</li></ul>"
+            + "<ul><li>A cursor is only valid with the \"sort\" it was issued for.</li></ul>"
+            + "</li>"
+            + "<li>Passing \"zip\" and \"distance\" finds dogs whose zip code centroid is "
+                + "within \"distance\" miles (100 max) of the centroid of \"zip\"; it cannot be "
+                + "combined with \"zipCodes.\" A zip code without a known centroid only "
+                + "matches itself, and HTTP 503 is returned when no centroids are "
+                + "configured.</li>"
+            + "<li>Passing \"include=dogs\" adds the full dogs of the page in the order of "
+                + "\"resultIds,\" which saves a call to POST /dogs. Like POST /dogs, \"size\" "
+                + "is then limited to 100.</li>"
+            + "<li>Pages larger than 1,000 dogs (configurable) are streamed as they are read "
+                + "from the database and are not cached, unless dogs are included.</li>"
             + "<li>HTTP 422 instead of HTTP 400/500 is used when an out of range value is "
                 + "provided for some query string parameters.</li>"
             + "<li>HTTP 422 instead of HTTP 400 is used when some query string parameters "
@@ -230,7 +395,8 @@ public class DogController {
                             "from=24\",\"resultIds\":[\"5MD-OZUBBPFf4ZNZzDCC" +
                             "\"],\"total\":150}")
                     },
-                    mediaType = "application/json"
+                    mediaType = "application/json",
+                    schema = @Schema(implementation = DogSearchResponseDto.class)
                 )},
                 description = "OK",
                 responseCode = "200"
@@ -252,28 +418,247 @@ public class DogController {
                 )},
                 description = "Invalid request",
                 responseCode = "422"
+            ),
+            @ApiResponse(
+                content = {@Content(
+                    examples = {@ExampleObject(value = "{\"error\":" +
+                        "\"Service Unavailable\",\"details\":[\"radius searches are not " +
+                        "available without zip code centroids\"]}")},
+                    mediaType = "application/json"
+                )},
+                description = "Radius search without zip code centroids",
+                responseCode = "503"
             )
         },
         summary = "Find dogs that matches the search criteria."
     )
-    public DogSearchResponseDto search(
+    public ResponseEntity<DogSearchResponseDto> search(
         @Valid DogSearchRequestDto parameters,
         HttpServletRequest request
     ) {
-        Pair<List<String>, Long> outcome = dogService.searchDogs(parameters);
-        var queryString = request.getQueryString();
-        int size = parameters.getSize(),
-            nextFrom = parameters.getFrom() + size,
-            previousFrom = parameters.getFrom() - size;
+        return datasetETagService.respond(request, () -> {
+            var queryString = request.getQueryString();
+            zipCodeService.checkRadius(parameters);
+            if (parameters.getInclude() == null && dogService.isStreamed(parameters)) {
+                return streamSearch(parameters, queryString);
+            }
+
+            var result = buildResponse(parameters, queryString, dogService.searchDogs(parameters));
+            if (parameters.getInclude() != null) {
+                result.setDogs(dogService.listDogs(result.getResultIds()));
+            }
+            return result;
+        });
+    }
+
+    @Operation(
+        description = "Runs several searches in one request, each taking the same fields as the "
+            + "query string of GET /dogs/search (25 searches max). Identical searches are only "
+            + "run once and the rest run concurrently. Results are returned in the order of "
+            + "the searches, with \"next\" and \"prev\" links built from each search's fields. "
+            + "A search with \"include\": \"dogs\" carries its dogs as in GET /dogs/search. "
+            + "Unlike GET /dogs/search, large pages are never streamed, so the sizes of the "
+            + "searches may add up to 1,000 dogs at most (configurable).",
+        method = "POST",
+        requestBody = @io.swagger.v3.oas.annotations.parameters.RequestBody(
+            content = @Content(
+                examples = {
+                    @ExampleObject(value = "[{\"breeds\":[\"Affenpinscher\"],\"size\":1}," +
+                        "{\"ageMin\":5,\"sort\":\"age:asc\"}]")
+                },
+                mediaType = "application/json"
+            ),
+            required = true
+        ),
+        responses = {
+            @ApiResponse(
+                content = {@Content(
+                    examples = {
+                        @ExampleObject(value = "[{\"next\":\"/dogs/search?breeds=" +
+                            "Affenpinscher&from=1&size=1&sort=breed%3Aasc\",\"resultIds\"" +
+                            ":[\"5MD-OZUBBPFf4ZNZzDCC\"],\"total\":150}]")
+                    },
+                    mediaType = "application/json"
+                )},
+                description = "OK",
+                responseCode = "200"
+            ),
+            @ApiResponse(
+                content = {@Content(
+                    examples = {@ExampleObject(value = "Unauthorized")},
+                    mediaType = "text/plain"
+                )},
+                description = "Unauthorized",
+                responseCode = "401"
+            ),
+            @ApiResponse(
+                content = {@Content(
+                    examples = {@ExampleObject(value = "{\"error\":" +
+                        "\"Unprocessable Entity\",\"detail\":[" +
+                        "\"size must be positive\"]}")},
+                    mediaType = "application/json"
+                )},
+                description = "Invalid request",
+                responseCode = "422"
+            ),
+            @ApiResponse(
+                content = {@Content(
+                    examples = {@ExampleObject(value = "{\"error\":" +
+                        "\"Service Unavailable\",\"details\":[\"radius searches are not " +
+                        "available without zip code centroids\"]}")},
+                    mediaType = "application/json"
+                )},
+                description = "Radius search without zip code centroids",
+                responseCode = "503"
+            )
+        },
+        summary = "Find dogs for several search criteria at once."
+    )
+    @PostMapping(DOG_SEARCH_BATCH_PATH)
+    public List<DogSearchResponseDto> searchInBatch(
+        @NotNull(message = "body must not be null")
+        @RequestBody
+        @Size(max = 25, message = "body must have between 1 and 25 searches", min = 1)
+        List<@NotNull(message = "a search must not be null") @Valid DogSearchRequestDto> searches
+    ) {
+        searches.forEach(zipCodeService::checkRadius);
+        var outcomes = dogService.searchDogsInBatch(searches);
+        var responses = new ArrayList<DogSearchResponseDto>(searches.size());
+        for (var index = 0; index < searches.size(); index++) {
+            var parameters = searches.get(index);
+            var result = buildResponse(
+                parameters, dogService.buildQuery(parameters), outcomes.get(index));
+            if (parameters.getInclude() != null) {
+                result.setDogs(dogService.listDogs(result.getResultIds()));
+            }
+            responses.add(result);
+        }
+        return responses;
+    }
+
+    /**
+     * Builds the response of a search with its navigation links.
+     *
+     * @param parameters search parameters
+     * @param queryString query string the links are built from
+     * @param outcome result of the search
+     * @return the response of the search
+     */
+    private DogSearchResponseDto buildResponse(
+        DogSearchRequestDto parameters,
+        String queryString,
+        DogSearchResult outcome
+    ) {
+        if (parameters.getCursor() != null) {
+            return DogSearchResponseDto.builder()
+                .resultIds(outcome.resultIds())
+                .total(outcome.total())
+                .next(outcome.nextCursor() != null
+                    ? dogService.buildCursorNavigation(queryString, outcome.nextCursor())
+                    : null)
+                .previous(outcome.previousCursor() != null
+                    ? dogService.buildCursorNavigation(queryString, outcome.previousCursor())
+                    : null)
+                .build();
+        }
         return DogSearchResponseDto.builder()
-            .resultIds(outcome.getFirst())
-            .total(outcome.getSecond())
-            .next(nextFrom < outcome.getSecond() && nextFrom > 0
-                ? dogService.buildNavigation(queryString, nextFrom, size)
-                : null)
-            .previous(previousFrom >= 0
-                ? dogService.buildNavigation(queryString, previousFrom, size)
-                : null)
+            .resultIds(outcome.resultIds())
+            .total(outcome.total())
+            .next(buildNextNavigation(parameters, queryString, outcome.total()))
+            .previous(buildPreviousNavigation(parameters, queryString))
             .build();
     }
+
+    /**
+     * Prepares a large search page that is written as it is serialized. The JSON has the same
+     * shape and field order as a serialized {@link DogSearchResponseDto}, but each dog ID is
+     * written as it is read from the database, so the page is never held in memory. The database
+     * connection is held until the page has been handed to the client, and a failure after the
+     * first bytes were sent aborts the response instead of completing it.
+     *
+     * @param parameters search parameters
+     * @param queryString current query string
+     * @return the search results to serialize
+     */
+    private DogSearchResponseDto streamSearch(DogSearchRequestDto parameters, String queryString) {
+        return new StreamedDogSearchResponseDto(generator ->
+            dogService.streamDogs(parameters, (total, ids) -> {
+                generator.writeStartObject();
+                var next = buildNextNavigation(parameters, queryString, total);
+                if (next != null) {
+                    generator.writeStringProperty("next", next);
+                }
+                var previous = buildPreviousNavigation(parameters, queryString);
+                if (previous != null) {
+                    generator.writeStringProperty("prev", previous);
+                }
+                generator.writeArrayPropertyStart("resultIds");
+                ids.forEach(generator::writeString);
+                generator.writeEndArray();
+                generator.writeNumberProperty("total", total);
+                generator.writeEndObject();
+            }));
+    }
+
+    /**
+     * Writes a JSON array of dogs from their cached JSON objects, so no DTO is serialized
+     * again. The bytes and the content type are the same as the JSON message converter writes
+     * for the list, and {@code produces} keeps content negotiation the same as well.
+     *
+     * @param dogs UTF-8 JSON objects of the dogs
+     * @param response the response to write to
+     * @throws IOException if the response cannot be written
+     */
+    private static void writeDogs(List<byte[]> dogs, HttpServletResponse response)
+        throws IOException {
+        int length = 2 + Math.max(0, dogs.size() - 1);
+        for (var dog : dogs) {
+            length += dog.length;
+        }
+        response.setContentLength(length);
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+
+        var output = response.getOutputStream();
+        output.write('[');
+        for (var index = 0; index < dogs.size(); index++) {
+            if (index > 0) {
+                output.write(',');
+            }
+            output.write(dogs.get(index));
+        }
+        output.write(']');
+    }
+
+    /**
+     * Builds the "next" link of an offset-based search.
+     *
+     * @param parameters search parameters
+     * @param queryString current query string
+     * @param total total number of dogs matching the filters
+     * @return the link, or null if there is no next page
+     */
+    private String buildNextNavigation(
+        DogSearchRequestDto parameters,
+        String queryString,
+        long total
+    ) {
+        int size = parameters.getSize(), nextFrom = parameters.getFrom() + size;
+        return nextFrom < total && nextFrom > 0
+            ? dogService.buildNavigation(queryString, nextFrom, size)
+            : null;
+    }
+
+    /**
+     * Builds the "prev" link of an offset-based search.
+     *
+     * @param parameters search parameters
+     * @param queryString current query string
+     * @return the link, or null if there is no previous page
+     */
+    private String buildPreviousNavigation(DogSearchRequestDto parameters, String queryString) {
+        int size = parameters.getSize(), previousFrom = parameters.getFrom() - size;
+        return previousFrom >= 0
+            ? dogService.buildNavigation(queryString, previousFrom, size)
+            : null;
+    }
 }
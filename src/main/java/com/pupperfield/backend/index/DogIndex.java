@@ -0,0 +1,382 @@
+package com.pupperfield.backend.index;
+
+import com.pupperfield.backend.entity.Dog;
+import com.pupperfield.backend.model.DogFacetsDto;
+import com.pupperfield.backend.model.DogSearchRequestDto;
+import com.pupperfield.backend.model.DogSearchResult;
+import com.pupperfield.backend.pagination.DogSearchCursor;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.function.Function;
+
+/**
+ * An immutable, column-oriented snapshot of the {@code Dog} table. Each dog is identified by an
+ * ordinal, which is its position in ascending ID order, and every column is a primitive array
+ * indexed by that ordinal. Breeds, names and zip codes are dictionary-encoded against sorted
+ * dictionaries, so comparing two codes gives the same result as comparing the original strings.
+ * <p>
+ * Filters are answered with posting lists: a bitmap of ordinals for every breed, a sorted array
+ * of ordinals for every zip code (most zip codes only have one or two dogs), and a cumulative
+ * bitmap of dogs at or below every age. A search combines them with bitwise OR and AND, and its
+ * total is the cardinality of the result.
+ * <p>
+ * Sorting is precomputed as well. For every sortable field, the index keeps the permutation of
+ * all ordinals ordered by (field, ID), so a page is produced by walking the permutation and
+ * testing the filter bitmap. Since ties are broken by ID in the sort direction, a descending
+ * order is exactly the ascending permutation walked backwards.
+ */
+public class DogIndex {
+    private final int[] ages;
+    private final BitSet[] atMostAgeBitmaps;
+    private final BitSet[] breedBitmaps;
+    private final String[] breedDictionary;
+    private final int[] breeds;
+    private final String[] ids;
+    private final String[] nameDictionary;
+    private final int[] names;
+    private final Map<String, Ordering> orderings;
+    private final String[] zipCodeDictionary;
+    private final int[][] zipCodePostings;
+    private final int[] zipCodes;
+
+    private DogIndex(Collection<Dog> dogs) {
+        var sortedDogs = dogs.stream()
+            .sorted(Comparator.comparing(Dog::getId))
+            .toList();
+        breedDictionary = createDictionary(sortedDogs, Dog::getBreed);
+        nameDictionary = createDictionary(sortedDogs, Dog::getName);
+        zipCodeDictionary = createDictionary(sortedDogs, Dog::getZipCode);
+
+        int count = sortedDogs.size();
+        ages = new int[count];
+        breeds = new int[count];
+        ids = new String[count];
+        names = new int[count];
+        zipCodes = new int[count];
+        for (var ordinal = 0; ordinal < count; ordinal++) {
+            var dog = sortedDogs.get(ordinal);
+            ages[ordinal] = dog.getAge();
+            breeds[ordinal] = Arrays.binarySearch(breedDictionary, dog.getBreed());
+            ids[ordinal] = dog.getId();
+            names[ordinal] = Arrays.binarySearch(nameDictionary, dog.getName());
+            zipCodes[ordinal] = Arrays.binarySearch(zipCodeDictionary, dog.getZipCode());
+        }
+
+        breedBitmaps = new BitSet[breedDictionary.length];
+        Arrays.setAll(breedBitmaps, code -> new BitSet(count));
+        var zipCodeSizes = new int[zipCodeDictionary.length];
+        var maxAge = Arrays.stream(ages).max().orElse(-1);
+        atMostAgeBitmaps = new BitSet[maxAge + 1];
+        Arrays.setAll(atMostAgeBitmaps, age -> new BitSet(count));
+        for (var ordinal = 0; ordinal < count; ordinal++) {
+            breedBitmaps[breeds[ordinal]].set(ordinal);
+            zipCodeSizes[zipCodes[ordinal]]++;
+            atMostAgeBitmaps[ages[ordinal]].set(ordinal);
+        }
+        for (var age = 1; age <= maxAge; age++) {
+            atMostAgeBitmaps[age].or(atMostAgeBitmaps[age - 1]);
+        }
+
+        // Ordinals are visited in ascending order, so every posting list ends up sorted
+        zipCodePostings = new int[zipCodeDictionary.length][];
+        Arrays.setAll(zipCodePostings, code -> new int[zipCodeSizes[code]]);
+        Arrays.fill(zipCodeSizes, 0);
+        for (var ordinal = 0; ordinal < count; ordinal++) {
+            var code = zipCodes[ordinal];
+            zipCodePostings[code][zipCodeSizes[code]++] = ordinal;
+        }
+
+        orderings = Map.of(
+            "age", Ordering.of(ages),
+            "breed", Ordering.of(breeds),
+            "name", Ordering.of(names)
+        );
+    }
+
+    /**
+     * Builds an index from every dog in the database.
+     *
+     * @param dogs all {@link com.pupperfield.backend.entity.Dog Dog} entities
+     * @return an index over {@code dogs}
+     */
+    public static DogIndex of(Collection<Dog> dogs) {
+        return new DogIndex(dogs);
+    }
+
+    /**
+     * Returns the number of dogs in the index.
+     *
+     * @return the number of dogs
+     */
+    public int size() {
+        return ids.length;
+    }
+
+    /**
+     * Filters, sorts and pages the dogs in the same way the JPA search does. Ties in the sort
+     * key are broken by dog ID in the same direction as the sort.
+     *
+     * @param parameters search parameters
+     * @return a list of dog IDs for the requested page and the total number of matches
+     */
+    public DogSearchResult search(DogSearchRequestDto parameters) {
+        var matches = filter(parameters);
+        var total = matches.cardinality();
+        if (parameters.getCursor() != null) {
+            return seek(parameters, matches, total);
+        }
+
+        String[] sortInfo = parameters.getSort().split(":");
+        var ordering = orderings.get(sortInfo[0]);
+        boolean ascending = sortInfo[1].equals("asc");
+        int from = parameters.getFrom(), size = parameters.getSize();
+        if (from >= total) {
+            return DogSearchResult.of(List.of(), total);
+        }
+
+        var resultIds = new ArrayList<String>(Math.min(size, total - from));
+        var wanted = Math.min((long) from + size, total);
+        long scanCost = wanted * ids.length / total,
+            sortCost = (long) total * (Integer.SIZE - Integer.numberOfLeadingZeros(total));
+        if (scanCost <= sortCost) {
+            // Enough dogs match that walking the permutation reaches the page quickly
+            var skipped = 0;
+            for (var step = 0; step < ids.length && resultIds.size() < size; step++) {
+                var ordinal = ordering.ordinals()[ascending ? step : ids.length - 1 - step];
+                if (matches.get(ordinal) && skipped++ >= from) {
+                    resultIds.add(ids[ordinal]);
+                }
+            }
+        } else {
+            // Too few dogs match, so sorting their positions in the permutation is cheaper
+            var positions = new int[total];
+            var index = 0;
+            for (var ordinal = matches.nextSetBit(0); ordinal >= 0;
+                 ordinal = matches.nextSetBit(ordinal + 1)) {
+                positions[index++] = ordering.ranks()[ordinal];
+            }
+            Arrays.sort(positions);
+            for (var position = from; position < wanted; position++) {
+                var rank = positions[ascending ? position : total - 1 - position];
+                resultIds.add(ids[ordering.ordinals()[rank]]);
+            }
+        }
+        return DogSearchResult.of(resultIds, total);
+    }
+
+    /**
+     * Pages through the dogs with a keyset cursor. The cursor is located in the permutation by
+     * binary search, and the walk starts right next to it, so its cost does not depend on how
+     * far the client has scrolled.
+     *
+     * @param parameters search parameters with a cursor
+     * @param matches a bitmap of the ordinals of all matching dogs
+     * @param total the number of matching dogs
+     * @return a list of dog IDs for the requested page, the total and neighboring cursors
+     */
+    private DogSearchResult seek(DogSearchRequestDto parameters, BitSet matches, int total) {
+        String[] sortInfo = parameters.getSort().split(":");
+        var field = sortInfo[0];
+        var ordering = orderings.get(field);
+        var cursor = parameters.getCursor().isEmpty()
+            ? null
+            : DogSearchCursor.decode(parameters.getCursor());
+
+        // Positions are in ascending order, so the next page of a descending search and the
+        // previous page of an ascending search both lie below the cursor
+        boolean upward = sortInfo[1].equals("asc") == (cursor == null || cursor.after());
+        int position;
+        if (cursor == null) {
+            position = upward ? 0 : ids.length - 1;
+        } else {
+            var low = 0;
+            var high = ids.length;
+            while (low < high) {
+                var middle = (low + high) >>> 1;
+                if (compare(ordering.ordinals()[middle], field, cursor) < 0) {
+                    low = middle + 1;
+                } else {
+                    high = middle;
+                }
+            }
+            boolean found = low < ids.length
+                && compare(ordering.ordinals()[low], field, cursor) == 0;
+            position = upward ? (found ? low + 1 : low) : low - 1;
+        }
+
+        var limit = (int) Math.min((long) parameters.getSize() + 1, Integer.MAX_VALUE);
+        var pageIds = new ArrayList<String>();
+        var pageKeys = new ArrayList<String>();
+        for (; position >= 0 && position < ids.length && pageIds.size() < limit;
+             position += upward ? 1 : -1) {
+            var ordinal = ordering.ordinals()[position];
+            if (matches.get(ordinal)) {
+                pageIds.add(ids[ordinal]);
+                pageKeys.add(switch (field) {
+                    case "age" -> Integer.toString(ages[ordinal]);
+                    case "breed" -> breedDictionary[breeds[ordinal]];
+                    default -> nameDictionary[names[ordinal]];
+                });
+            }
+        }
+        return DogSearchCursor.paginate(
+            cursor, parameters.getSort(), parameters.getSize(), pageIds, pageKeys, total);
+    }
+
+    /**
+     * Compares a dog with the position of a cursor in ascending (field, ID) order.
+     *
+     * @param ordinal the ordinal of a dog
+     * @param field the sort field
+     * @param cursor a cursor
+     * @return a negative number, zero, or a positive number if the dog comes before, at, or
+     * after the cursor
+     */
+    private int compare(int ordinal, String field, DogSearchCursor cursor) {
+        var result = switch (field) {
+            case "age" -> Integer.compare(ages[ordinal], Integer.parseInt(cursor.key()));
+            case "breed" -> breedDictionary[breeds[ordinal]].compareTo(cursor.key());
+            default -> nameDictionary[names[ordinal]].compareTo(cursor.key());
+        };
+        return result != 0 ? result : ids[ordinal].compareTo(cursor.id());
+    }
+
+    /**
+     * Counts the dogs matching the filters of the search parameters by breed, age and zip code
+     * in one pass over the matching ordinals. Paging and sorting parameters are ignored.
+     *
+     * @param parameters search parameters
+     * @return counts of the matching dogs by each column
+     */
+    public DogFacetsDto facets(DogSearchRequestDto parameters) {
+        var matches = filter(parameters);
+        var ageCounts = new long[atMostAgeBitmaps.length];
+        var breedCounts = new long[breedDictionary.length];
+        var zipCodeCounts = new long[zipCodeDictionary.length];
+        for (var ordinal = matches.nextSetBit(0); ordinal >= 0;
+             ordinal = matches.nextSetBit(ordinal + 1)) {
+            ageCounts[ages[ordinal]]++;
+            breedCounts[breeds[ordinal]]++;
+            zipCodeCounts[zipCodes[ordinal]]++;
+        }
+
+        var facets = new DogFacetsDto(
+            new TreeMap<>(), new TreeMap<>(), matches.cardinality(), new TreeMap<>());
+        for (var age = 0; age < ageCounts.length; age++) {
+            if (ageCounts[age] > 0) {
+                facets.getAges().put(age, ageCounts[age]);
+            }
+        }
+        for (var code = 0; code < breedCounts.length; code++) {
+            if (breedCounts[code] > 0) {
+                facets.getBreeds().put(breedDictionary[code], breedCounts[code]);
+            }
+        }
+        for (var code = 0; code < zipCodeCounts.length; code++) {
+            if (zipCodeCounts[code] > 0) {
+                facets.getZipCodes().put(zipCodeDictionary[code], zipCodeCounts[code]);
+            }
+        }
+        return facets;
+    }
+
+    /**
+     * Combines the posting lists of every filter in the search parameters.
+     *
+     * @param parameters search parameters
+     * @return a bitmap of the ordinals of all matching dogs
+     */
+    private BitSet filter(DogSearchRequestDto parameters) {
+        var matches = new BitSet(ids.length);
+        matches.set(0, ids.length);
+
+        if (parameters.getBreeds() != null) {
+            var breedMatches = new BitSet(ids.length);
+            for (var breed : parameters.getBreeds()) {
+                var code = Arrays.binarySearch(breedDictionary, breed);
+                if (code >= 0) {
+                    breedMatches.or(breedBitmaps[code]);
+                }
+            }
+            matches.and(breedMatches);
+        }
+
+        if (parameters.getZipCodes() != null) {
+            var zipCodeMatches = new BitSet(ids.length);
+            for (var zipCode : parameters.getZipCodes()) {
+                var code = Arrays.binarySearch(zipCodeDictionary, zipCode);
+                if (code >= 0) {
+                    for (var ordinal : zipCodePostings[code]) {
+                        zipCodeMatches.set(ordinal);
+                    }
+                }
+            }
+            matches.and(zipCodeMatches);
+        }
+
+        var maxAge = atMostAgeBitmaps.length - 1;
+        if (parameters.getAgeMax() != null && parameters.getAgeMax() < maxAge) {
+            matches.and(atMostAgeBitmaps[parameters.getAgeMax()]);
+        }
+        if (parameters.getAgeMin() != null && parameters.getAgeMin() > 0) {
+            if (parameters.getAgeMin() > maxAge) {
+                matches.clear();
+            } else {
+                matches.andNot(atMostAgeBitmaps[parameters.getAgeMin() - 1]);
+            }
+        }
+        return matches;
+    }
+
+    /**
+     * Collects the distinct values of a column into a sorted dictionary.
+     *
+     * @param dogs dogs to read from
+     * @param column a getter for the column
+     * @return distinct column values in ascending order
+     */
+    private static String[] createDictionary(List<Dog> dogs, Function<Dog, String> column) {
+        return dogs.stream()
+            .map(column)
+            .distinct()
+            .sorted()
+            .toArray(String[]::new);
+    }
+
+    /**
+     * A precomputed order of every dog by one field, using the ID as a tiebreaker.
+     *
+     * @param ordinals dog ordinals in ascending (field, ID) order
+     * @param ranks the position of every ordinal in {@code ordinals}
+     */
+    private record Ordering(int[] ordinals, int[] ranks) {
+        /**
+         * Sorts all ordinals by a dictionary-encoded or numeric column.
+         *
+         * @param keys column values indexed by ordinal
+         * @return the ordering of {@code keys}
+         */
+        static Ordering of(int[] keys) {
+            var packed = new long[keys.length];
+            for (var ordinal = 0; ordinal < keys.length; ordinal++) {
+                packed[ordinal] = ((long) keys[ordinal] << Integer.SIZE) | ordinal;
+            }
+            Arrays.sort(packed);
+
+            var ordinals = new int[keys.length];
+            var ranks = new int[keys.length];
+            for (var rank = 0; rank < packed.length; rank++) {
+                ordinals[rank] = (int) packed[rank];
+                ranks[ordinals[rank]] = rank;
+            }
+            return new Ordering(ordinals, ranks);
+        }
+    }
+}
@@ -0,0 +1,146 @@
+package com.pupperfield.backend.index;
+
+import com.pupperfield.backend.entity.Dog;
+import com.pupperfield.backend.model.DogNameSuggestionDto;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * An immutable index of dog names for prefix suggestions. Distinct names are kept in sorted
+ * arrays ordered by their lowercase form, so the names starting with a prefix form one
+ * contiguous range that is found by binary search. Besides the list over all dogs, there is one
+ * list per breed, so a breed filter only reads the names of that breed.
+ */
+public class DogNameIndex {
+    private final NameList all;
+    private final Map<String, NameList> breeds;
+
+    private DogNameIndex(Collection<Dog> dogs) {
+        all = NameList.of(dogs);
+        breeds = dogs.stream()
+            .collect(Collectors.groupingBy(Dog::getBreed))
+            .entrySet()
+            .stream()
+            .collect(Collectors.toMap(Map.Entry::getKey, entry -> NameList.of(entry.getValue())));
+    }
+
+    /**
+     * Builds an index from every dog in the database.
+     *
+     * @param dogs all {@link Dog} entities
+     * @return an index over the names of {@code dogs}
+     */
+    public static DogNameIndex of(Collection<Dog> dogs) {
+        return new DogNameIndex(dogs);
+    }
+
+    /**
+     * Returns the number of distinct names in the index.
+     *
+     * @return the number of names
+     */
+    public int size() {
+        return all.names().length;
+    }
+
+    /**
+     * Finds names that start with a prefix, ignoring case, in alphabetical order.
+     *
+     * @param prefix the start of the name
+     * @param breeds breeds the dogs must have, or null for any breed
+     * @param limit maximum number of names to return
+     * @return names starting with {@code prefix} and how many matching dogs have each
+     */
+    public List<DogNameSuggestionDto> suggest(String prefix, Collection<String> breeds, int limit) {
+        var key = prefix.toLowerCase(Locale.ROOT);
+        if (breeds == null) {
+            return all.suggest(key, limit);
+        }
+
+        // Each breed contributes at most limit names, so the first limit of the merge are exact
+        var merged = new TreeMap<String, DogNameSuggestionDto>(NameList.ORDER);
+        for (var breed : breeds.stream().distinct().toList()) {
+            var names = this.breeds.get(breed);
+            if (names == null) {
+                continue;
+            }
+            for (var suggestion : names.suggest(key, limit)) {
+                merged.merge(suggestion.getName(), suggestion, (left, right) ->
+                    new DogNameSuggestionDto(left.getCount() + right.getCount(), left.getName()));
+            }
+        }
+        return merged.values().stream().limit(limit).toList();
+    }
+
+    /**
+     * Distinct names of a group of dogs with the number of dogs having each, ordered by their
+     * lowercase form and then by the name itself.
+     *
+     * @param keys lowercase names
+     * @param names names as stored
+     * @param counts number of dogs with each name
+     */
+    private record NameList(String[] keys, String[] names, long[] counts) {
+        static final Comparator<String> ORDER = Comparator
+            .comparing((String name) -> name.toLowerCase(Locale.ROOT))
+            .thenComparing(Function.identity());
+
+        /**
+         * Counts the names of a group of dogs.
+         *
+         * @param dogs dogs to read from
+         * @return the names of {@code dogs}
+         */
+        static NameList of(Collection<Dog> dogs) {
+            var counts = new HashMap<String, Long>();
+            dogs.forEach(dog -> counts.merge(dog.getName(), 1L, Long::sum));
+            var names = counts.keySet().stream().sorted(ORDER).toArray(String[]::new);
+            return new NameList(
+                Arrays.stream(names)
+                    .map(name -> name.toLowerCase(Locale.ROOT))
+                    .toArray(String[]::new),
+                names,
+                Arrays.stream(names).mapToLong(counts::get).toArray()
+            );
+        }
+
+        /**
+         * Reads the names starting with a prefix.
+         *
+         * @param key the prefix in lowercase
+         * @param limit maximum number of names to return
+         * @return the first names starting with {@code key}
+         */
+        List<DogNameSuggestionDto> suggest(String key, int limit) {
+            var low = 0;
+            var high = keys.length;
+            while (low < high) {
+                var middle = (low + high) >>> 1;
+                if (keys[middle].compareTo(key) < 0) {
+                    low = middle + 1;
+                } else {
+                    high = middle;
+                }
+            }
+
+            var end = low;
+            while (end < keys.length && end - low < limit && keys[end].startsWith(key)) {
+                end++;
+            }
+            var suggestions = new DogNameSuggestionDto[end - low];
+            for (var index = low; index < end; index++) {
+                suggestions[index - low] = new DogNameSuggestionDto(counts[index], names[index]);
+            }
+            return List.of(suggestions);
+        }
+    }
+}
@@ -0,0 +1,209 @@
+package com.pupperfield.backend.index;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * An immutable spatial index of zip code centroids. The map is cut into square cells of a fixed
+ * number of degrees, and every zip code is filed under the cell its centroid falls into. A
+ * radius query only visits the cells overlapping the bounding box of the circle and measures the
+ * great-circle distance to the centroids in them, so it touches a few hundred zip codes at most
+ * instead of all of them.
+ */
+public class ZipCodeGrid {
+    private static final double EARTH_RADIUS_MILES = 3958.8;
+
+    private final double cellSize;
+    private final Map<Long, int[]> cells;
+    private final double[] latitudes;
+    private final double[] longitudes;
+    private final String[] zipCodes;
+
+    private ZipCodeGrid(Collection<Centroid> centroids, double cellSize) {
+        var sortedCentroids = centroids.stream()
+            .sorted(Comparator.comparing(Centroid::zipCode))
+            .toList();
+        this.cellSize = cellSize;
+        int count = sortedCentroids.size();
+        latitudes = new double[count];
+        longitudes = new double[count];
+        zipCodes = new String[count];
+
+        var members = new HashMap<Long, List<Integer>>();
+        for (var ordinal = 0; ordinal < count; ordinal++) {
+            var centroid = sortedCentroids.get(ordinal);
+            latitudes[ordinal] = centroid.latitude();
+            longitudes[ordinal] = centroid.longitude();
+            zipCodes[ordinal] = centroid.zipCode();
+            members.computeIfAbsent(
+                cellOf(centroid.latitude(), centroid.longitude()), cell -> new ArrayList<>()
+            ).add(ordinal);
+        }
+        cells = new HashMap<>(members.size() * 2);
+        members.forEach((cell, ordinals) -> cells.put(
+            cell, ordinals.stream().mapToInt(Integer::intValue).toArray()));
+    }
+
+    /**
+     * Builds a grid from zip code centroids. If a zip code is listed more than once, the first
+     * centroid is kept.
+     *
+     * @param centroids zip codes and their coordinates
+     * @param cellSize width and height of a cell in degrees
+     * @return a grid over {@code centroids}
+     * @throws IllegalArgumentException if {@code cellSize} is not valid
+     */
+    public static ZipCodeGrid of(Collection<Centroid> centroids, double cellSize) {
+        if (isValidCellSize(cellSize) == false) {
+            throw new IllegalArgumentException(
+                "Cell size %s must be positive and divide 360 degrees".formatted(cellSize));
+        }
+        var distinct = new HashMap<String, Centroid>();
+        centroids.forEach(centroid -> distinct.putIfAbsent(centroid.zipCode(), centroid));
+        return new ZipCodeGrid(distinct.values(), cellSize);
+    }
+
+    /**
+     * Checks whether a cell size is positive and divides the 360 degrees of longitude into a
+     * whole number of columns, which the wrap at the antimeridian relies on.
+     *
+     * @param cellSize width and height of a cell in degrees
+     * @return whether a grid can use the cell size
+     */
+    public static boolean isValidCellSize(double cellSize) {
+        if (cellSize <= 0 || Double.isFinite(cellSize) == false) {
+            return false;
+        }
+        var columns = Math.rint(360 / cellSize);
+        return columns >= 1 && Math.abs(columns * cellSize - 360) < 1e-9;
+    }
+
+    /**
+     * Returns the number of zip codes in the grid.
+     *
+     * @return the number of zip codes
+     */
+    public int size() {
+        return zipCodes.length;
+    }
+
+    /**
+     * Finds the zip codes whose centroids are within a distance of the centroid of a zip code.
+     * A zip code without a known centroid only matches itself.
+     *
+     * @param zipCode the center of the search
+     * @param miles the radius of the search
+     * @return matching zip codes in ascending order, always including {@code zipCode}
+     */
+    public List<String> findWithin(String zipCode, double miles) {
+        var center = Arrays.binarySearch(zipCodes, zipCode);
+        if (center < 0) {
+            return List.of(zipCode);
+        }
+
+        double latitude = latitudes[center], longitude = longitudes[center];
+        var latitudeSpan = Math.toDegrees(miles / EARTH_RADIUS_MILES);
+        var longitudeSpan = Math.min(
+            180, latitudeSpan / Math.max(Math.cos(Math.toRadians(latitude)), 1e-6));
+        long minRow = cellIndex(latitude - latitudeSpan);
+        long maxRow = cellIndex(latitude + latitudeSpan);
+        long minColumn = cellIndex(longitude - longitudeSpan);
+        long maxColumn = cellIndex(longitude + longitudeSpan);
+
+        var matches = new ArrayList<String>();
+        for (var row = minRow; row <= maxRow; row++) {
+            for (var column = minColumn; column <= maxColumn; column++) {
+                var ordinals = cells.get(cellKey(row, Math.floorMod(column, columns())));
+                if (ordinals == null) {
+                    continue;
+                }
+                for (var ordinal : ordinals) {
+                    if (distance(latitude, longitude, latitudes[ordinal], longitudes[ordinal])
+                        <= miles) {
+                        matches.add(zipCodes[ordinal]);
+                    }
+                }
+            }
+        }
+        return matches.stream().distinct().sorted().toList();
+    }
+
+    /**
+     * Finds the cell a point falls into.
+     *
+     * @param latitude latitude of the point in degrees
+     * @param longitude longitude of the point in degrees
+     * @return the key of the cell
+     */
+    private long cellOf(double latitude, double longitude) {
+        return cellKey(cellIndex(latitude), Math.floorMod(cellIndex(longitude), columns()));
+    }
+
+    /**
+     * Converts a coordinate into the index of the row or column it falls into.
+     *
+     * @param degrees a latitude or longitude in degrees
+     * @return the row or column index
+     */
+    private long cellIndex(double degrees) {
+        return (long) Math.floor(degrees / cellSize);
+    }
+
+    /**
+     * Returns the number of columns around the globe, so longitudes wrap at the antimeridian.
+     *
+     * @return the number of columns
+     */
+    private long columns() {
+        return Math.round(360 / cellSize);
+    }
+
+    /**
+     * Combines a row and a column into a cell key.
+     *
+     * @param row the row index
+     * @param column the column index, already wrapped into the grid
+     * @return the key of the cell
+     */
+    private static long cellKey(long row, long column) {
+        return (row << Integer.SIZE) | (column & 0xFFFFFFFFL);
+    }
+
+    /**
+     * Measures the great-circle distance between two points with the haversine formula.
+     *
+     * @param latitude1 latitude of the first point in degrees
+     * @param longitude1 longitude of the first point in degrees
+     * @param latitude2 latitude of the second point in degrees
+     * @param longitude2 longitude of the second point in degrees
+     * @return the distance in miles
+     */
+    static double distance(
+        double latitude1,
+        double longitude1,
+        double latitude2,
+        double longitude2
+    ) {
+        var latitudeDelta = Math.toRadians(latitude2 - latitude1);
+        var longitudeDelta = Math.toRadians(longitude2 - longitude1);
+        var a = Math.pow(Math.sin(latitudeDelta / 2), 2)
+            + Math.cos(Math.toRadians(latitude1)) * Math.cos(Math.toRadians(latitude2))
+            * Math.pow(Math.sin(longitudeDelta / 2), 2);
+        return 2 * EARTH_RADIUS_MILES * Math.asin(Math.min(1, Math.sqrt(a)));
+    }
+
+    /**
+     * The centroid of a zip code.
+     *
+     * @param zipCode the zip code
+     * @param latitude latitude of the centroid in degrees
+     * @param longitude longitude of the centroid in degrees
+     */
+    public record Centroid(String zipCode, double latitude, double longitude) {
+    }
+}
@@ -0,0 +1,57 @@
+package com.pupperfield.backend.model;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+
+/**
+ * A Data Transfer Object representing the statistics of a cache since the application started.
+ */
+@AllArgsConstructor
+@Builder
+@Data
+@Schema(description = "Cache statistics")
+public class CacheStatsDto {
+    @Schema(example = "0.35", title = "Average time spent loading a missing entry in milliseconds")
+    private double averageLoadMillis;
+
+    @Schema(example = "12", title = "Number of entries evicted to stay within the limit")
+    private long evictionCount;
+
+    @Schema(example = "24576", title = "Estimated size of the evicted entries in bytes")
+    private long evictionWeight;
+
+    @Schema(example = "950", title = "Number of lookups that found an entry")
+    private long hitCount;
+
+    @Schema(example = "0.95", title = "Share of lookups that found an entry")
+    private double hitRate;
+
+    @Schema(example = "50", title = "Number of entries loaded into the cache")
+    private long loadCount;
+
+    @Schema(example = "33554432", title = "Maximum estimated size of the cache in bytes")
+    private long maximumWeight;
+
+    @Schema(example = "50", title = "Number of lookups that did not find an entry")
+    private long missCount;
+
+    @Schema(example = "searches", title = "Name of the cache")
+    private String name;
+
+    @Schema(example = "120", title = "Number of background refreshes started")
+    private long refreshCount;
+
+    @Schema(
+        example = "0",
+        title = "Number of background refreshes that failed or were skipped since the pool was busy"
+    )
+    private long refreshFailureCount;
+
+    @Schema(example = "38", title = "Approximate number of entries in the cache")
+    private long size;
+
+    @Schema(example = "77824", title = "Estimated size of the entries in the cache in bytes")
+    private long weightedSize;
+}
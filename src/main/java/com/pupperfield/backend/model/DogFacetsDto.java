@@ -0,0 +1,32 @@
+package com.pupperfield.backend.model;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.SortedMap;
+
+/**
+ * A Data Transfer Object representing how many dogs matching a search filter there are for each
+ * breed, age and zip code. Values without any matching dog are left out.
+ */
+@AllArgsConstructor
+@Builder
+@Data
+@NoArgsConstructor
+@Schema(description = "Dog counts by breed, age and zip code")
+public class DogFacetsDto {
+    @Schema(example = "{\"2\": 16, \"3\": 11}", title = "Number of matching dogs by age")
+    private SortedMap<Integer, Long> ages;
+
+    @Schema(example = "{\"Affenpinscher\": 150}", title = "Number of matching dogs by breed")
+    private SortedMap<String, Long> breeds;
+
+    @Schema(example = "150", title = "Total number of matching dogs")
+    private long total;
+
+    @Schema(example = "{\"06519\": 1}", title = "Number of matching dogs by zip code")
+    private SortedMap<String, Long> zipCodes;
+}
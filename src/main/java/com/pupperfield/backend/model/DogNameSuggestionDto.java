@@ -0,0 +1,23 @@
+package com.pupperfield.backend.model;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * A Data Transfer Object representing a dog name that starts with a typed prefix.
+ */
+@AllArgsConstructor
+@Builder
+@Data
+@NoArgsConstructor
+@Schema(description = "Dog name suggestion")
+public class DogNameSuggestionDto {
+    @Schema(example = "12", title = "Number of dogs with the name")
+    private long count;
+
+    @Schema(example = "Bella", title = "A dog name")
+    private String name;
+}
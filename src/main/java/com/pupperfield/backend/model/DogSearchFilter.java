@@ -0,0 +1,53 @@
+package com.pupperfield.backend.model;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * The filter part of a dog search, normalized so that requests selecting the same dogs compare
+ * equal regardless of page, sort or the order of listed values. It is the key of the totals
+ * cache. A radius search is kept as its center and distance rather than the zip codes inside
+ * it, so its key stays small however many zip codes the radius covers.
+ *
+ * @param ageMax maximum age, or null if unbounded
+ * @param ageMin minimum age, or null if unbounded
+ * @param breeds distinct breeds in natural order, or null if not filtered by breed
+ * @param distance radius in miles around {@code zip}, or null if not a radius search
+ * @param zip zip code at the center of a radius search, or null if not a radius search
+ * @param zipCodes distinct zip codes in natural order, or null if not filtered by zip code
+ */
+public record DogSearchFilter(
+    Integer ageMax,
+    Integer ageMin,
+    List<String> breeds,
+    Double distance,
+    String zip,
+    List<String> zipCodes
+) {
+    /**
+     * Extracts the normalized filter from search parameters.
+     *
+     * @param parameters search parameters
+     * @return the filter of the search
+     */
+    public static DogSearchFilter of(DogSearchRequestDto parameters) {
+        return new DogSearchFilter(
+            parameters.getAgeMax(),
+            parameters.getAgeMin(),
+            normalize(parameters.getBreeds()),
+            parameters.getDistance(),
+            parameters.getZip(),
+            normalize(parameters.getZipCodes())
+        );
+    }
+
+    /**
+     * Sorts and deduplicates filter values.
+     *
+     * @param values values from the request, or null
+     * @return an immutable sorted list of distinct values, or null if {@code values} is null
+     */
+    private static List<String> normalize(Collection<String> values) {
+        return values == null ? null : values.stream().distinct().sorted().toList();
+    }
+}
@@ -1,13 +1,17 @@
 package com.pupperfield.backend.model;
 
+import com.pupperfield.backend.pagination.DogSearchCursor;
 import io.swagger.v3.oas.annotations.media.Schema;
 import jakarta.validation.Valid;
+import jakarta.validation.constraints.AssertTrue;
+import jakarta.validation.constraints.DecimalMax;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Pattern;
 import jakarta.validation.constraints.Positive;
 import jakarta.validation.constraints.PositiveOrZero;
 import jakarta.validation.constraints.Size;
+import lombok.AccessLevel;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
@@ -18,8 +22,8 @@ import java.util.List;
 /**
  * A Data Transfer Object representing the request parameters for searching dogs.
  */
-@AllArgsConstructor
-@Builder
+@AllArgsConstructor(access = AccessLevel.PRIVATE)
+@Builder(toBuilder = true)
 @Data
 @NoArgsConstructor
 @Schema(description = "Dog search request parameters")
@@ -40,12 +44,32 @@ public class DogSearchRequestDto {
     private List<@NotBlank(message = "a breed must not be empty") @Size(max = 30, message =
         "a breed should not have more than 30 characters") @Valid String> breeds = null;
 
+    @Builder.Default
+    @Schema(
+        example = "",
+        title = "An opaque cursor from the \"next\" or \"prev\" link; pass an empty value to "
+            + "start paging with cursors instead of \"from\""
+    )
+    @Size(max = 200, message = "cursor should not have more than 200 characters")
+    private String cursor = null;
+
+    @Builder.Default
+    @DecimalMax(message = "distance must be at most 100 miles", value = "100")
+    @Positive(message = "distance must be positive")
+    @Schema(example = "25", title = "Radius in miles around \"zip\" to find dogs in")
+    private Double distance = null;
+
     @Builder.Default
     @NotNull(message = "from must be a number starting from zero")
     @PositiveOrZero(message = "from must be zero or positive")
     @Schema(example = "0", title = "Index of the first dog in the result")
     private Integer from = 0;
 
+    @Builder.Default
+    @Pattern(message = "include must be dogs", regexp = "^dogs$")
+    @Schema(example = "dogs", title = "Pass \"dogs\" to include the dogs on the page")
+    private String include = null;
+
     @Builder.Default
     @NotNull(message = "size must be a positive number")
     @Positive(message = "size must be positive")
@@ -60,9 +84,48 @@ public class DogSearchRequestDto {
     @Schema(example = "breed:asc", title = "How to sort the result")
     private String sort = "breed:asc";
 
+    @Builder.Default
+    @Schema(example = "10001", title = "Zip code at the center of a radius search")
+    @Size(max = 10, message = "zip should have 1 to 10 characters", min = 1)
+    private String zip = null;
+
     @Builder.Default
     @Schema(example = "\"12345\"", title = "A list of zip codes")
     @Size(message = "zipCodes should not be empty", min = 1)
     private List<@NotBlank(message = "a zip code must not be empty") @Size(max = 10, message =
         "a zip code should not have more than 10 characters") @Valid String> zipCodes = null;
+
+    /**
+     * Checks that the cursor, if present, was issued for the same sort order.
+     *
+     * @return whether the cursor can be used
+     */
+    @AssertTrue(message = "cursor is not valid")
+    @Schema(hidden = true)
+    public boolean isCursorValid() {
+        return DogSearchCursor.isValid(cursor, sort);
+    }
+
+    /**
+     * Checks that a page with its dogs included is no larger than what POST /dogs accepts, since
+     * such a page is built in memory instead of streamed.
+     *
+     * @return whether the page size can be used
+     */
+    @AssertTrue(message = "size must be at most 100 with include=dogs")
+    @Schema(hidden = true)
+    public boolean isIncludeValid() {
+        return include == null || size == null || size <= 100;
+    }
+
+    /**
+     * Checks that a radius search has both its center and its distance, and no zip code list.
+     *
+     * @return whether the radius, if any, can be used
+     */
+    @AssertTrue(message = "zip and distance must be passed together and without zipCodes")
+    @Schema(hidden = true)
+    public boolean isRadiusValid() {
+        return (zip == null) == (distance == null) && (zip == null || zipCodes == null);
+    }
 }
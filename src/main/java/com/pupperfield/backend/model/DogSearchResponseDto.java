@@ -18,6 +18,9 @@ import java.util.List;
 @JsonInclude(JsonInclude.Include.NON_NULL)
 @Schema(description = "Dog search results")
 public class DogSearchResponseDto {
+    @Schema(title = "Dogs on the page in the order of resultIds, only with include=dogs")
+    private List<DogDto> dogs;
+
     @Schema(example = "/dogs/search?size=1&from=3", title = "Next page link")
     private String next;
 
@@ -0,0 +1,31 @@
+package com.pupperfield.backend.model;
+
+import java.util.List;
+
+/**
+ * The outcome of a dog search before it is turned into a response.
+ *
+ * @param resultIds dog IDs on the requested page
+ * @param total total number of dogs matching the filters
+ * @param nextCursor an opaque cursor for the next page, or null if there is none or the search
+ * was offset-based
+ * @param previousCursor an opaque cursor for the previous page, or null if there is none or the
+ * search was offset-based
+ */
+public record DogSearchResult(
+    List<String> resultIds,
+    long total,
+    String nextCursor,
+    String previousCursor
+) {
+    /**
+     * Creates the outcome of an offset-based search, which has no cursors.
+     *
+     * @param resultIds dog IDs on the requested page
+     * @param total total number of dogs matching the filters
+     * @return a search result without cursors
+     */
+    public static DogSearchResult of(List<String> resultIds, long total) {
+        return new DogSearchResult(resultIds, total, null, null);
+    }
+}
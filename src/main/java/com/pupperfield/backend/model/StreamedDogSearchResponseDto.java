@@ -0,0 +1,48 @@
+package com.pupperfield.backend.model;
+
+import tools.jackson.core.JsonGenerator;
+import tools.jackson.databind.SerializationContext;
+import tools.jackson.databind.ValueSerializer;
+import tools.jackson.databind.annotation.JsonSerialize;
+
+import java.util.function.Consumer;
+
+/**
+ * Dog search results that are written while they are serialized instead of being held in memory.
+ * The writer is given the generator of the message converter, so the page goes through content
+ * negotiation and the configured JSON mapper like any other {@link DogSearchResponseDto}.
+ */
+@JsonSerialize(using = StreamedDogSearchResponseDto.Serializer.class)
+public class StreamedDogSearchResponseDto extends DogSearchResponseDto {
+    private final Consumer<JsonGenerator> writer;
+
+    /**
+     * Creates search results written by a function.
+     *
+     * @param writer the function writing the results as one JSON object
+     */
+    public StreamedDogSearchResponseDto(Consumer<JsonGenerator> writer) {
+        super(null, null, null, null, 0);
+        this.writer = writer;
+    }
+
+    /**
+     * Serializes streamed search results by running their writer.
+     */
+    public static class Serializer extends ValueSerializer<StreamedDogSearchResponseDto> {
+        /**
+         * Writes the search results.
+         *
+         * @param value the search results
+         * @param generator the generator to write to
+         * @param context the serialization context
+         */
+        public void serialize(
+            StreamedDogSearchResponseDto value,
+            JsonGenerator generator,
+            SerializationContext context
+        ) {
+            value.writer.accept(generator);
+        }
+    }
+}
@@ -0,0 +1,122 @@
+package com.pupperfield.backend.pagination;
+
+import com.pupperfield.backend.model.DogSearchResult;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * A keyset (seek) cursor for /dogs/search. It points at a dog by its sort key and ID, so the
+ * next page starts right after it no matter how deep the client has scrolled. Clients only see
+ * the opaque Base64 URL-safe token produced by {@link #encode()}.
+ *
+ * @param after whether the page lies after the dog (next page) or before it (previous page)
+ * @param sort the sort parameter the cursor was created for
+ * @param key the sort key of the dog
+ * @param id the ID of the dog
+ */
+public record DogSearchCursor(boolean after, String sort, String key, String id) {
+    private static final String AFTER = "a";
+    private static final String BEFORE = "b";
+    private static final String SEPARATOR = "\n";
+
+    /**
+     * Decodes a cursor token.
+     *
+     * @param token a token produced by {@link #encode()}
+     * @return the decoded cursor
+     * @throws IllegalArgumentException if the token is malformed
+     */
+    public static DogSearchCursor decode(String token) {
+        var parts = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8)
+            .split(SEPARATOR, 4);
+        if (parts.length != 4 || (parts[0].equals(AFTER) == false
+            && parts[0].equals(BEFORE) == false)) {
+            throw new IllegalArgumentException("Malformed cursor");
+        }
+        if (parts[1].startsWith("age:")) {
+            // Ages are compared as numbers, so their keys must parse
+            Integer.parseInt(parts[3]);
+        }
+        return new DogSearchCursor(parts[0].equals(AFTER), parts[1], parts[3], parts[2]);
+    }
+
+    /**
+     * Checks whether a token can be used with a sort parameter. An empty token is valid and
+     * requests the first page.
+     *
+     * @param token a cursor token from the request
+     * @param sort the sort parameter from the request
+     * @return whether the token is valid for {@code sort}
+     */
+    public static boolean isValid(String token, String sort) {
+        if (token == null || token.isEmpty()) {
+            return true;
+        }
+        try {
+            return decode(token).sort().equals(sort);
+        } catch (IllegalArgumentException exception) {
+            return false;
+        }
+    }
+
+    /**
+     * Builds the result of a keyset search. Since a search for the previous page reads rows
+     * backwards, the rows are given in the order they were read and flipped here when needed.
+     *
+     * @param cursor the cursor in the request, or null for the first page
+     * @param sort the sort parameter in the request
+     * @param size the page size in the request
+     * @param ids IDs of up to {@code size + 1} dogs in the order they were read; the extra one
+     * only tells whether there is another page
+     * @param keys sort keys matching {@code ids}
+     * @param total total number of dogs matching the filters
+     * @return a search result with cursors for the neighboring pages
+     */
+    public static DogSearchResult paginate(
+        DogSearchCursor cursor,
+        String sort,
+        int size,
+        List<String> ids,
+        List<String> keys,
+        long total
+    ) {
+        var count = Math.min(size, ids.size());
+        if (count == 0) {
+            return DogSearchResult.of(List.of(), total);
+        }
+
+        boolean backward = cursor != null && cursor.after() == false,
+            hasMore = ids.size() > size;
+        var pageIds = new ArrayList<>(ids.subList(0, count));
+        var pageKeys = new ArrayList<>(keys.subList(0, count));
+        if (backward) {
+            Collections.reverse(pageIds);
+            Collections.reverse(pageKeys);
+        }
+
+        var next = new DogSearchCursor(true, sort, pageKeys.getLast(), pageIds.getLast());
+        var previous = new DogSearchCursor(false, sort, pageKeys.getFirst(), pageIds.getFirst());
+        return new DogSearchResult(
+            pageIds,
+            total,
+            (backward || hasMore) ? next.encode() : null,
+            (backward ? hasMore : cursor != null) ? previous.encode() : null
+        );
+    }
+
+    /**
+     * Encodes the cursor as an opaque token.
+     *
+     * @return a Base64 URL-safe token without padding
+     */
+    public String encode() {
+        var value = String.join(SEPARATOR, after ? AFTER : BEFORE, sort, id, key);
+        return Base64.getUrlEncoder()
+            .withoutPadding()
+            .encodeToString(value.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -1,87 +0,0 @@
-package com.pupperfield.backend.pagination;
-
-import lombok.AccessLevel;
-import lombok.Getter;
-import lombok.Value;
-import org.springframework.data.domain.Pageable;
-import org.springframework.data.domain.Sort;
-
-/**
- * An offset-based pagination implementation for the {@link com.pupperfield.backend.entity.Dog Dog}
- * entities. Note that it cannot go beyond the first page because it is meant to get all the data
- * the request needs at once.
- */
-@Value
-public class DogSearchPagination implements Pageable {
-    @Getter(AccessLevel.PRIVATE)
-    int limit;
-
-    long offset;
-
-    Sort sort;
-
-    /**
-     * Always returns the current page since going after the first page is not supported.
-     *
-     * @return a pagination object with the same properties
-     */
-    public Pageable first() {
-        return new DogSearchPagination(this.limit, this.offset, this.sort);
-    }
-
-    /**
-     * Returns the page number. Since this is offset-based, it will always return 0.
-     *
-     * @return 0
-     */
-    public int getPageNumber() {
-        return 0;
-    }
-
-    /**
-     * Returns the maximum number of items to be returned.
-     *
-     * @return the page size in the query string
-     */
-    public int getPageSize() {
-        return this.limit;
-    }
-
-    /**
-     * Indicates whether there is a previous page. It always returns false.
-     *
-     * @return false
-     */
-    public boolean hasPrevious() {
-        return false;
-    }
-
-    /**
-     * Not supported in this implementation.
-     *
-     * @throws UnsupportedOperationException every time
-     */
-    public Pageable next() {
-        throw new UnsupportedOperationException("Not implemented");
-    }
-
-
-    /**
-     * Returns the first page (same as current since paging is not supported).
-     *
-     * @return a pagination object with the same properties
-     */
-    public Pageable previousOrFirst() {
-        return this.first();
-    }
-
-    /**
-     * Not supported in this implementation.
-     *
-     * @param pageNumber ignored
-     * @throws UnsupportedOperationException every time
-     */
-    public Pageable withPage(int pageNumber) {
-        throw new UnsupportedOperationException("Not implemented");
-    }
-}
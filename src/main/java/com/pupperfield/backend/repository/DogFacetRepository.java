@@ -0,0 +1,18 @@
+package com.pupperfield.backend.repository;
+
+import com.pupperfield.backend.entity.Dog;
+import com.pupperfield.backend.model.DogFacetsDto;
+import org.springframework.data.jpa.domain.Specification;
+
+/**
+ * A repository fragment for counting dogs by the columns a search can filter on.
+ */
+public interface DogFacetRepository {
+    /**
+     * Counts dogs that match the specification by breed, age and zip code.
+     *
+     * @param spec an object defining the filtering criteria
+     * @return counts of the matching dogs by each column
+     */
+    DogFacetsDto countFacets(Specification<Dog> spec);
+}
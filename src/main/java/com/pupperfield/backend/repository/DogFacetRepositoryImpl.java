@@ -0,0 +1,49 @@
+package com.pupperfield.backend.repository;
+
+import com.pupperfield.backend.entity.Dog;
+import com.pupperfield.backend.model.DogFacetsDto;
+import jakarta.persistence.EntityManager;
+import lombok.AllArgsConstructor;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.TreeMap;
+
+/**
+ * A Criteria API implementation of {@link DogFacetRepository}.
+ */
+@AllArgsConstructor
+@Transactional(readOnly = true)
+public class DogFacetRepositoryImpl implements DogFacetRepository {
+    private EntityManager entityManager;
+
+    /**
+     * Counts dogs that match the specification with a single query grouped by breed, age and zip
+     * code, and sums the groups up for each column.
+     *
+     * @param spec an object defining the filtering criteria
+     * @return counts of the matching dogs by each column
+     */
+    public DogFacetsDto countFacets(Specification<Dog> spec) {
+        var builder = entityManager.getCriteriaBuilder();
+        var query = builder.createTupleQuery();
+        var root = query.from(Dog.class);
+        query.multiselect(
+            root.get("breed"), root.get("age"), root.get("zipCode"), builder.count(root));
+        var predicate = spec.toPredicate(root, query, builder);
+        if (predicate != null) {
+            query.where(predicate);
+        }
+        query.groupBy(root.get("breed"), root.get("age"), root.get("zipCode"));
+
+        var facets = new DogFacetsDto(new TreeMap<>(), new TreeMap<>(), 0, new TreeMap<>());
+        for (var row : entityManager.createQuery(query).getResultList()) {
+            var count = row.get(3, Long.class);
+            facets.getBreeds().merge(row.get(0, String.class), count, Long::sum);
+            facets.getAges().merge(row.get(1, Integer.class), count, Long::sum);
+            facets.getZipCodes().merge(row.get(2, String.class), count, Long::sum);
+            facets.setTotal(facets.getTotal() + count);
+        }
+        return facets;
+    }
+}
@@ -0,0 +1,56 @@
+package com.pupperfield.backend.repository;
+
+import com.pupperfield.backend.entity.Dog;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.util.Pair;
+
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * A repository fragment for searches that only need dog IDs. Queries select just the columns
+ * they return, so no {@link Dog} entity is instantiated or tracked by the persistence context.
+ */
+public interface DogIdRepository {
+    /**
+     * Finds IDs of dogs that match the specification.
+     *
+     * @param spec an object defining the filtering criteria
+     * @param sort sort order of the result
+     * @param offset number of matching dogs to skip
+     * @param limit maximum number of IDs to return
+     * @return IDs of the matching dogs in order
+     */
+    List<String> findIds(Specification<Dog> spec, Sort sort, long offset, int limit);
+
+    /**
+     * Scrolls through IDs of dogs that match the specification. Rows are read from the open
+     * result set as the stream is consumed, so it must be consumed and closed within the
+     * transaction that opened it.
+     *
+     * @param spec an object defining the filtering criteria
+     * @param sort sort order of the result
+     * @param offset number of matching dogs to skip
+     * @param limit maximum number of IDs to return
+     * @return a lazy stream of IDs of the matching dogs in order
+     */
+    Stream<String> streamIds(Specification<Dog> spec, Sort sort, long offset, int limit);
+
+    /**
+     * Finds IDs of dogs that match the specification along with their sort keys, as needed to
+     * build keyset cursors.
+     *
+     * @param spec an object defining the filtering criteria
+     * @param field the property whose value is returned as the key
+     * @param sort sort order of the result
+     * @param limit maximum number of rows to return
+     * @return pairs of dog ID and the value of {@code field} as a string, in order
+     */
+    List<Pair<String, String>> findIdsAndKeys(
+        Specification<Dog> spec,
+        String field,
+        Sort sort,
+        int limit
+    );
+}
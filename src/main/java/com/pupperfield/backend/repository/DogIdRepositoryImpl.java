@@ -0,0 +1,133 @@
+package com.pupperfield.backend.repository;
+
+import com.pupperfield.backend.entity.Dog;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.TypedQuery;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Root;
+import lombok.AllArgsConstructor;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+import org.springframework.data.util.Pair;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * A Criteria API implementation of {@link DogIdRepository}.
+ */
+@AllArgsConstructor
+@Transactional(readOnly = true)
+public class DogIdRepositoryImpl implements DogIdRepository {
+    private static final int STREAM_FETCH_SIZE = 500;
+
+    private EntityManager entityManager;
+
+    /**
+     * Finds IDs of dogs that match the specification by selecting only the ID column.
+     *
+     * @param spec an object defining the filtering criteria
+     * @param sort sort order of the result
+     * @param offset number of matching dogs to skip
+     * @param limit maximum number of IDs to return
+     * @return IDs of the matching dogs in order
+     */
+    public List<String> findIds(Specification<Dog> spec, Sort sort, long offset, int limit) {
+        return createIdQuery(spec, sort, offset, limit).getResultList();
+    }
+
+    /**
+     * Scrolls through IDs of dogs that match the specification with a forward-only cursor.
+     *
+     * @param spec an object defining the filtering criteria
+     * @param sort sort order of the result
+     * @param offset number of matching dogs to skip
+     * @param limit maximum number of IDs to return
+     * @return a lazy stream of IDs of the matching dogs in order
+     */
+    public Stream<String> streamIds(Specification<Dog> spec, Sort sort, long offset, int limit) {
+        return createIdQuery(spec, sort, offset, limit)
+            .setHint(HibernateHints.HINT_FETCH_SIZE, STREAM_FETCH_SIZE)
+            .setHint(HibernateHints.HINT_READ_ONLY, true)
+            .getResultStream();
+    }
+
+    /**
+     * Finds IDs and sort keys of dogs that match the specification by selecting only those two
+     * columns.
+     *
+     * @param spec an object defining the filtering criteria
+     * @param field the property whose value is returned as the key
+     * @param sort sort order of the result
+     * @param limit maximum number of rows to return
+     * @return pairs of dog ID and the value of {@code field} as a string, in order
+     */
+    public List<Pair<String, String>> findIdsAndKeys(
+        Specification<Dog> spec,
+        String field,
+        Sort sort,
+        int limit
+    ) {
+        var builder = entityManager.getCriteriaBuilder();
+        var query = builder.createTupleQuery();
+        var root = query.from(Dog.class);
+        query.multiselect(root.get("id"), root.get(field));
+        restrict(spec, sort, root, query);
+        return entityManager.createQuery(query)
+            .setMaxResults(limit)
+            .getResultList()
+            .stream()
+            .map(row -> Pair.of(row.get(0, String.class), String.valueOf(row.get(1))))
+            .toList();
+    }
+
+    /**
+     * Creates a query selecting only IDs of dogs that match the specification.
+     *
+     * @param spec an object defining the filtering criteria
+     * @param sort sort order of the result
+     * @param offset number of matching dogs to skip
+     * @param limit maximum number of IDs to return
+     * @return a query for the IDs
+     */
+    private TypedQuery<String> createIdQuery(
+        Specification<Dog> spec,
+        Sort sort,
+        long offset,
+        int limit
+    ) {
+        var builder = entityManager.getCriteriaBuilder();
+        var query = builder.createQuery(String.class);
+        var root = query.from(Dog.class);
+        query.select(root.<String>get("id"));
+        restrict(spec, sort, root, query);
+        return entityManager.createQuery(query)
+            .setFirstResult((int) Math.min(offset, Integer.MAX_VALUE))
+            .setMaxResults(limit);
+    }
+
+    /**
+     * Applies the specification and the sort order to a query.
+     *
+     * @param spec an object defining the filtering criteria
+     * @param sort sort order of the result
+     * @param root root of the query
+     * @param query the query to restrict
+     */
+    private void restrict(
+        Specification<Dog> spec,
+        Sort sort,
+        Root<Dog> root,
+        CriteriaQuery<?> query
+    ) {
+        var builder = entityManager.getCriteriaBuilder();
+        var predicate = spec.toPredicate(root, query, builder);
+        if (predicate != null) {
+            query.where(predicate);
+        }
+        query.orderBy(QueryUtils.toOrders(sort, root, builder));
+    }
+}
@@ -0,0 +1,90 @@
+package com.pupperfield.backend.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Policy;
+import com.pupperfield.backend.cache.DogCacheLoader;
+import com.pupperfield.backend.cache.RefreshingCacheLoader;
+import com.pupperfield.backend.cache.SearchCacheLoader;
+import com.pupperfield.backend.config.CacheConfig;
+import com.pupperfield.backend.model.CacheStatsDto;
+import lombok.AllArgsConstructor;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A service that reports the statistics Caffeine records for each cache, so expiration times and
+ * limits can be sized from real traffic.
+ */
+@AllArgsConstructor
+@Service
+public class CacheStatsService {
+    private CacheManager cacheManager;
+    private DogCacheLoader dogCacheLoader;
+    private SearchCacheLoader searchCacheLoader;
+
+    /**
+     * Collects the statistics of every Caffeine cache, ordered by cache name.
+     * <p>
+     * Caches filled through a loading lookup have their loads counted and timed: {@code dogs}
+     * through a bulk lookup, which counts one load per batch of missing dogs, {@code searches}
+     * through its asynchronous cache, where a load lasts until the search completes, and
+     * {@code facets}, {@code idLists} and {@code totals} through {@code Cache.get(key, loader)}.
+     * Only {@code breeds} is still {@code @Cacheable}, which looks the entry up and puts the
+     * result afterward, so its misses are counted but not its load time.
+     * Background refreshes are only reported for {@code dogs} and {@code searches}, the caches
+     * that have them.
+     *
+     * @return statistics of each cache
+     */
+    public List<CacheStatsDto> getStats() {
+        var stats = new ArrayList<CacheStatsDto>();
+        for (var name : cacheManager.getCacheNames().stream().sorted().toList()) {
+            var cache = Objects.requireNonNull(cacheManager.getCache(name)).getNativeCache();
+            if (cache instanceof Cache<?, ?> caffeineCache) {
+                var cacheStats = getStats(name, caffeineCache);
+                RefreshingCacheLoader loader = switch (name) {
+                    case CacheConfig.DOG_CACHE -> dogCacheLoader;
+                    case CacheConfig.SEARCH_CACHE -> searchCacheLoader;
+                    default -> null;
+                };
+                if (loader != null) {
+                    cacheStats.setRefreshCount(loader.getRefreshCount());
+                    cacheStats.setRefreshFailureCount(loader.getRefreshFailureCount());
+                }
+                stats.add(cacheStats);
+            }
+        }
+        return stats;
+    }
+
+    /**
+     * Collects the statistics of a cache. Sizes are reported as -1 for a cache that is not
+     * bounded by weight.
+     *
+     * @param name name of the cache
+     * @param cache a Caffeine cache
+     * @return statistics of the cache
+     */
+    private static CacheStatsDto getStats(String name, Cache<?, ?> cache) {
+        var stats = cache.stats();
+        var eviction = cache.policy().eviction();
+        return CacheStatsDto.builder()
+            .averageLoadMillis(stats.averageLoadPenalty() / TimeUnit.MILLISECONDS.toNanos(1))
+            .evictionCount(stats.evictionCount())
+            .evictionWeight(stats.evictionWeight())
+            .hitCount(stats.hitCount())
+            .hitRate(stats.hitRate())
+            .loadCount(stats.loadCount())
+            .maximumWeight(eviction.map(Policy.Eviction::getMaximum).orElse(-1L))
+            .missCount(stats.missCount())
+            .name(name)
+            .size(cache.estimatedSize())
+            .weightedSize(eviction.map(policy -> policy.weightedSize().orElse(-1)).orElse(-1L))
+            .build();
+    }
+}
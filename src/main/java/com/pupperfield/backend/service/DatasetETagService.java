@@ -0,0 +1,78 @@
+package com.pupperfield.backend.service;
+
+import com.pupperfield.backend.config.ETagProperties;
+import jakarta.servlet.http.HttpServletRequest;
+import lombok.AllArgsConstructor;
+import org.springframework.http.CacheControl;
+import org.springframework.http.ETag;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Service;
+
+import java.util.function.Supplier;
+
+/**
+ * A service answering conditional requests to the endpoints whose responses only depend on the
+ * request and the dataset. Their ETag is the dataset version, which is known before the request
+ * is handled, so a client that already has the current version gets HTTP 304 before any other
+ * service, cache or database is touched.
+ */
+@AllArgsConstructor
+@Service
+public class DatasetETagService {
+    private DatasetVersionService datasetVersionService;
+    private ETagProperties eTagProperties;
+
+    /**
+     * Answers a validated request. If its {@code If-None-Match} header matches the dataset version,
+     * the answer is HTTP 304 and {@code body} is never called. Otherwise, the body is computed
+     * and sent with the ETag and {@code Cache-Control} headers. An exception thrown by
+     * {@code body} propagates, so error responses are never tagged.
+     *
+     * @param request the HTTP request
+     * @param body computes the response body
+     * @param <T> type of the response body
+     * @return the response to send
+     */
+    public <T> ResponseEntity<T> respond(HttpServletRequest request, Supplier<T> body) {
+        if (eTagProperties.isEnabled() == false) {
+            return ResponseEntity.ok(body.get());
+        }
+
+        var eTag = ETag.create(datasetVersionService.getVersion());
+        var cacheControl = CacheControl.maxAge(eTagProperties.getMaxAge())
+            .cachePrivate()
+            .mustRevalidate();
+        if (matches(request, eTag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                .cacheControl(cacheControl)
+                .eTag(eTag.formattedTag())
+                .build();
+        }
+        return ResponseEntity.ok()
+            .cacheControl(cacheControl)
+            .eTag(eTag.formattedTag())
+            .body(body.get());
+    }
+
+    /**
+     * Checks the {@code If-None-Match} headers of a request with the weak comparison, as HTTP
+     * requires for this header.
+     *
+     * @param request the HTTP request
+     * @param eTag the current ETag
+     * @return whether any of the listed ETags, or a wildcard, matches
+     */
+    private static boolean matches(HttpServletRequest request, ETag eTag) {
+        var headers = request.getHeaders(HttpHeaders.IF_NONE_MATCH);
+        while (headers != null && headers.hasMoreElements()) {
+            for (var candidate : ETag.parse(headers.nextElement())) {
+                if (candidate.isWildcard() || candidate.compare(eTag, false)) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+}
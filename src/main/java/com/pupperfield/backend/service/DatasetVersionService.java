@@ -0,0 +1,90 @@
+package com.pupperfield.backend.service;
+
+import jakarta.annotation.PostConstruct;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import javax.sql.DataSource;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.sql.SQLException;
+import java.util.HexFormat;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A service that identifies the dataset being served. It only changes when a new database is
+ * deployed, so a hash of the {@code Dog} table taken at startup tells clients whether anything
+ * they downloaded before can still be used.
+ */
+@AllArgsConstructor
+@Service
+@Slf4j
+public class DatasetVersionService {
+    /**
+     * The version of the response format. It must be changed when the JSON of a response tagged
+     * with the dataset version changes, so that clients do not keep stale bodies.
+     */
+    public static final String FORMAT_VERSION = "1";
+
+    private static final String QUERY =
+        "SELECT id, age, breed, image_link, name, zip_code FROM Dog ORDER BY id";
+
+    private DataSource dataSource;
+
+    @Getter(lazy = true)
+    private final String version = computeVersion();
+
+    /**
+     * Computes the version at startup, so no request pays for it.
+     */
+    @PostConstruct
+    public void initialize() {
+        getVersion();
+    }
+
+    /**
+     * Hashes {@link #FORMAT_VERSION}, then every row of the {@code Dog} table in ID order, with
+     * SHA-256. Nothing about the build is hashed, so rebuilding the same code over the same
+     * database keeps the version. Each value is followed by a zero byte, so values cannot run into
+     * each other.
+     *
+     * @return the first 128 bits of the hash in hexadecimal
+     * @throws IllegalStateException if the table cannot be read
+     */
+    private String computeVersion() {
+        long start = System.nanoTime();
+        MessageDigest digest;
+        try {
+            digest = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException exception) {
+            throw new IllegalStateException("SHA-256 is not available", exception);
+        }
+
+        digest.update(FORMAT_VERSION.getBytes(StandardCharsets.UTF_8));
+        digest.update((byte) 0);
+
+        int rows = 0;
+        try (var connection = dataSource.getConnection();
+             var statement = connection.createStatement();
+             var result = statement.executeQuery(QUERY)) {
+            int columns = result.getMetaData().getColumnCount();
+            while (result.next()) {
+                for (var column = 1; column <= columns; column++) {
+                    digest.update(result.getString(column).getBytes(StandardCharsets.UTF_8));
+                    digest.update((byte) 0);
+                }
+                rows++;
+            }
+        } catch (SQLException exception) {
+            throw new IllegalStateException("Failed to compute the dataset version", exception);
+        }
+
+        var version = HexFormat.of().formatHex(digest.digest(), 0, 16);
+        log.info("Computed dataset version {} from format {} and {} dogs in {} ms", version,
+            FORMAT_VERSION, rows, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+        return version;
+    }
+}
@@ -0,0 +1,46 @@
+package com.pupperfield.backend.service;
+
+import com.pupperfield.backend.config.CacheConfig;
+import com.pupperfield.backend.config.SearchProperties;
+import com.pupperfield.backend.model.DogFacetsDto;
+import com.pupperfield.backend.model.DogSearchFilter;
+import com.pupperfield.backend.model.DogSearchRequestDto;
+import com.pupperfield.backend.repository.DogRepository;
+import com.pupperfield.backend.spec.DogSpecs;
+import lombok.AllArgsConstructor;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Service;
+
+import java.util.Objects;
+
+/**
+ * A service that counts the dogs matching a search filter by breed, age and zip code, so a page
+ * of results can show its facets without one search per value.
+ */
+@AllArgsConstructor
+@Service
+public class DogFacetService {
+    private CacheManager cacheManager;
+    private DogIndexService dogIndexService;
+    private DogRepository dogRepository;
+    private SearchProperties searchProperties;
+
+    /**
+     * Counts the dogs matching the filters of a search. Counts are cached by the normalized
+     * filter, so paging, sorting and the order of listed values do not matter. The memory engine
+     * and radius searches count from the index; otherwise a single grouped query is run.
+     *
+     * @param parameters search parameters, of which only the filters are used
+     * @return counts of the matching dogs by breed, age and zip code
+     */
+    public DogFacetsDto getFacets(DogSearchRequestDto parameters) {
+        var filter = DogSearchFilter.of(parameters);
+        return Objects.requireNonNull(cacheManager.getCache(CacheConfig.FACET_CACHE)).get(
+            filter,
+            () -> searchProperties.getEngine() == SearchProperties.Engine.MEMORY
+                || filter.zip() != null
+                ? dogIndexService.facets(parameters)
+                : dogRepository.countFacets(DogSpecs.withFilter(filter))
+        );
+    }
+}
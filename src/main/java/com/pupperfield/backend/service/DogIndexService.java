@@ -0,0 +1,79 @@
+package com.pupperfield.backend.service;
+
+import com.pupperfield.backend.config.SearchProperties;
+import com.pupperfield.backend.index.DogIndex;
+import com.pupperfield.backend.model.DogFacetsDto;
+import com.pupperfield.backend.model.DogSearchRequestDto;
+import com.pupperfield.backend.model.DogSearchResult;
+import com.pupperfield.backend.repository.DogRepository;
+import jakarta.annotation.PostConstruct;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A service that answers dog searches from an in-memory {@link DogIndex}. Since the {@code Dog}
+ * table never changes at runtime, the index is loaded once and shared by every request. Radius
+ * searches are always answered here, whatever the engine, since the index merges the postings of
+ * the zip codes inside a radius without listing them in a query.
+ */
+@AllArgsConstructor
+@Service
+@Slf4j
+public class DogIndexService {
+    private DogRepository dogRepository;
+    private SearchProperties searchProperties;
+    private ZipCodeService zipCodeService;
+
+    @Getter(lazy = true)
+    private final DogIndex index = loadIndex();
+
+    /**
+     * Loads the index at startup when an engine that needs it is selected or radius searches
+     * are available, so the first search does not pay for it. Otherwise, the index is loaded on
+     * first use.
+     */
+    @PostConstruct
+    public void initialize() {
+        if (searchProperties.getEngine() != SearchProperties.Engine.JPA
+            || zipCodeService.getGrid().size() > 0) {
+            getIndex();
+        }
+    }
+
+    /**
+     * Searches for dogs in the in-memory index.
+     *
+     * @param parameters search parameters
+     * @return an object containing a list of dog IDs and the total count
+     */
+    public DogSearchResult search(DogSearchRequestDto parameters) {
+        return getIndex().search(zipCodeService.resolve(parameters));
+    }
+
+    /**
+     * Counts the dogs matching a search filter in the in-memory index.
+     *
+     * @param parameters search parameters
+     * @return counts of the matching dogs by breed, age and zip code
+     */
+    public DogFacetsDto facets(DogSearchRequestDto parameters) {
+        return getIndex().facets(zipCodeService.resolve(parameters));
+    }
+
+    /**
+     * Reads every row of the {@code Dog} table into a new index.
+     *
+     * @return an index over all dogs
+     */
+    private DogIndex loadIndex() {
+        long start = System.nanoTime();
+        var index = DogIndex.of(dogRepository.findAll());
+        log.info("Loaded {} dogs into the search index in {} ms",
+            index.size(), TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+        return index;
+    }
+}
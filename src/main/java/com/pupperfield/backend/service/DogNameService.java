@@ -0,0 +1,61 @@
+package com.pupperfield.backend.service;
+
+import com.pupperfield.backend.index.DogNameIndex;
+import com.pupperfield.backend.model.DogNameSuggestionDto;
+import com.pupperfield.backend.repository.DogRepository;
+import jakarta.annotation.PostConstruct;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A service that suggests dog names from an in-memory {@link DogNameIndex}. Since the
+ * {@code Dog} table never changes at runtime, the index is loaded once at startup.
+ */
+@AllArgsConstructor
+@Service
+@Slf4j
+public class DogNameService {
+    private DogRepository dogRepository;
+
+    @Getter(lazy = true)
+    private final DogNameIndex index = loadIndex();
+
+    /**
+     * Loads the index at startup, so the first suggestion does not pay for it.
+     */
+    @PostConstruct
+    public void initialize() {
+        getIndex();
+    }
+
+    /**
+     * Finds dog names that start with a prefix, ignoring case.
+     *
+     * @param prefix the start of the name
+     * @param breeds breeds the dogs must have, or null for any breed
+     * @param size maximum number of names to return
+     * @return matching names in alphabetical order with the number of dogs having each
+     */
+    public List<DogNameSuggestionDto> suggest(String prefix, Collection<String> breeds, int size) {
+        return getIndex().suggest(prefix, breeds, size);
+    }
+
+    /**
+     * Reads every row of the {@code Dog} table into a new index.
+     *
+     * @return an index over the names of all dogs
+     */
+    private DogNameIndex loadIndex() {
+        long start = System.nanoTime();
+        var index = DogNameIndex.of(dogRepository.findAll());
+        log.info("Loaded {} dog names into the name index in {} ms",
+            index.size(), TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+        return index;
+    }
+}
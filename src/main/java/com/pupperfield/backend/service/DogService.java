@@ -1,30 +1,59 @@
 package com.pupperfield.backend.service;
 
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.pupperfield.backend.cache.CachedDog;
+import com.pupperfield.backend.cache.DogIdList;
+import com.pupperfield.backend.cache.DogIdListKey;
+import com.pupperfield.backend.cache.DogSearchKey;
 import com.pupperfield.backend.config.CacheConfig;
+import com.pupperfield.backend.config.SearchProperties;
 import com.pupperfield.backend.entity.Dog;
 import com.pupperfield.backend.mapper.DogMapper;
 import com.pupperfield.backend.model.DogDto;
+import com.pupperfield.backend.model.DogSearchFilter;
 import com.pupperfield.backend.model.DogSearchRequestDto;
-import com.pupperfield.backend.pagination.DogSearchPagination;
+import com.pupperfield.backend.model.DogSearchResult;
+import com.pupperfield.backend.pagination.DogSearchCursor;
 import com.pupperfield.backend.repository.DogRepository;
 import com.pupperfield.backend.spec.DogSpecs;
+import lombok.AccessLevel;
 import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.CacheManager;
 import org.springframework.cache.annotation.Cacheable;
-import org.springframework.data.domain.Page;
+import org.springframework.cache.caffeine.CaffeineCache;
+import org.springframework.core.task.AsyncTaskExecutor;
 import org.springframework.data.domain.Sort;
 import org.springframework.data.domain.Sort.Order;
 import org.springframework.data.jpa.domain.Specification;
 import org.springframework.data.util.Pair;
+import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.server.ResponseStatusException;
+import tools.jackson.databind.json.JsonMapper;
 
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
 import java.security.SecureRandom;
 import java.util.Collection;
 import java.util.Collections;
-import java.util.Comparator;
 import java.util.HashMap;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BiConsumer;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 import static org.apache.commons.lang3.StringUtils.isNotBlank;
 import static org.springframework.data.domain.Sort.Direction.ASC;
@@ -35,11 +64,20 @@ import static org.springframework.data.domain.Sort.Direction.DESC;
  */
 @AllArgsConstructor
 @Service
+@Slf4j
 public class DogService {
     private static final SecureRandom random = new SecureRandom();
 
+    private CacheManager cacheManager;
+    private DogIndexService dogIndexService;
     private DogMapper dogMapper;
     private DogRepository dogRepository;
+    private JsonMapper jsonMapper;
+    private SearchProperties searchProperties;
+    private AsyncTaskExecutor taskExecutor;
+
+    @Getter(lazy = true, value = AccessLevel.PRIVATE)
+    private final Semaphore batchPermits = new Semaphore(searchProperties.getBatchConcurrency());
 
     /**
      * Retrieves a cached list of all dog breeds.
@@ -53,29 +91,73 @@ public class DogService {
     }
 
     /**
-     * Returns a list of dog information in the original input order. Results are cached
-     * unless the result is empty.
+     * Returns a list of dog information in the original input order. Dogs are cached one by one,
+     * so lists that overlap or come in a different order share entries; the dogs missing from
+     * the cache are read with a single query. A nonexistent ID is omitted and a repeated one is
+     * listed once, at its first position.
      *
      * @param idList a list of dog IDs
      * @return a list of {@link com.pupperfield.backend.model.DogDto DogDto} in input order
      */
-    @Cacheable(
-        cacheNames = {CacheConfig.LIST_CACHE},
-        unless = "#result?.isEmpty()"
-    )
-    @Transactional(readOnly = true)
     public List<DogDto> listDogs(List<String> idList) {
-        var indexMap = new HashMap<String, Integer>();
-        for (var index = 0; index < idList.size(); index++) {
-            indexMap.put(idList.get(index), index);
-        }
-        return dogRepository.findAllById(idList)
-            .stream()
-            .sorted(Comparator.comparingInt(dog -> indexMap.get(dog.getId())))
-            .map(dogMapper::dogToDogDto)
+        return getDogs(idList).stream().map(CachedDog::dog).toList();
+    }
+
+    /**
+     * Works like {@link #listDogs(List)} but returns each dog as the JSON object Jackson would
+     * write for it, encoded once when the dog was cached. Joining them with commas inside
+     * brackets gives the same bytes as serializing the result of {@link #listDogs(List)}.
+     *
+     * @param idList a list of dog IDs
+     * @return UTF-8 JSON objects of the dogs in input order
+     */
+    public List<byte[]> listDogsAsJson(List<String> idList) {
+        return getDogs(idList).stream().map(CachedDog::json).toList();
+    }
+
+    /**
+     * Looks dogs up in the {@code dogs} cache and reads the missing ones with a single query.
+     *
+     * @param idList a list of dog IDs
+     * @return cached dogs in input order, without nonexistent or repeated IDs
+     */
+    private List<CachedDog> getDogs(List<String> idList) {
+        var dogs = getDogCache().getAll(idList, this::loadDogs);
+        return idList.stream()
+            .distinct()
+            .map(dogs::get)
+            .filter(Objects::nonNull)
             .toList();
     }
 
+    /**
+     * Reads dogs without any caching and serializes each of them, for the dogs missing from the
+     * {@code dogs} cache and for refreshing it in the background.
+     *
+     * @param idSet IDs of the dogs
+     * @return the dogs found, by ID
+     */
+    public Map<String, CachedDog> loadDogs(Set<? extends String> idSet) {
+        var dogs = new HashMap<String, CachedDog>();
+        for (var dog : dogRepository.findAllById(List.copyOf(idSet))) {
+            var dto = dogMapper.dogToDogDto(dog);
+            dogs.put(dog.getId(), new CachedDog(dto, jsonMapper.writeValueAsBytes(dto)));
+        }
+        return dogs;
+    }
+
+    /**
+     * Returns the Caffeine cache behind {@code dogs}, whose bulk lookup the Spring cache
+     * abstraction does not offer.
+     *
+     * @return the cache of dogs by ID
+     */
+    @SuppressWarnings("unchecked")
+    private Cache<String, CachedDog> getDogCache() {
+        return (Cache<String, CachedDog>) Objects.requireNonNull(
+            cacheManager.getCache(CacheConfig.DOG_CACHE)).getNativeCache();
+    }
+
     /**
      * Randomly selects a dog ID from the input.
      *
@@ -87,51 +169,435 @@ public class DogService {
     }
 
     /**
-     * Searches for dogs based on various filter and sort parameters. Results are cached
-     * unless the result is empty.
+     * Searches for dogs based on various filter and sort parameters with the engine selected by
+     * {@code pupperfield.search.engine}. Results are cached by {@link DogSearchKey} unless the
+     * result is empty or the page is a slice of a cached ID list (see
+     * {@link #isSliced(DogSearchRequestDto)}).
+     * <p>
+     * Concurrent misses on the same key are coalesced: the first caller puts an incomplete future
+     * into the {@code searches} cache and runs the search on its own thread, and every other
+     * caller waits on that future instead of running the same query. Once an entry is older
+     * than {@code pupperfield.cache.refresh.after-write}, the next read still gets it at once
+     * while {@link com.pupperfield.backend.cache.SearchCacheLoader SearchCacheLoader} reloads it
+     * in the background.
+     *
+     * @param parameters search parameters
+     * @return an object containing a list of dog IDs, the total count and, for cursor-based
+     * searches, cursors for the neighboring pages
+     */
+    public DogSearchResult searchDogs(DogSearchRequestDto parameters) {
+        if (isSliced(parameters)) {
+            return runSearch(parameters);
+        }
+
+        var searches = getSearchCache();
+        var key = DogSearchKey.of(parameters);
+        var load = new CompletableFuture<DogSearchResult>();
+        var result = searches.get(key, (ignored, executor) -> load);
+        if (result == load) {
+            try {
+                var value = runSearch(parameters);
+                load.complete(value);
+                if (value.total() <= 0) {
+                    searches.asMap().remove(key, load);
+                }
+            } catch (Throwable exception) {
+                // Caffeine drops a failed future, so the next caller tries again
+                load.completeExceptionally(exception);
+                throw exception;
+            }
+        }
+        return join(result);
+    }
+
+    /**
+     * Runs several searches for /dogs/search/batch. Searches with the same {@link DogSearchKey}
+     * run only once, and distinct ones run concurrently through
+     * {@link #searchDogs(DogSearchRequestDto)}, so they share its cache. At most
+     * {@code pupperfield.search.batch-concurrency} searches of all batches run at a time to
+     * leave connections for other requests; the calling thread waits for a free slot before
+     * submitting the next search, so a task never blocks a thread of the executor.
+     *
+     * @param searches search parameters
+     * @return the result of each search, in the order of {@code searches}
+     * @throws ResponseStatusException if the page sizes add up to more than
+     * {@code pupperfield.search.batch-max-results}
+     */
+    public List<DogSearchResult> searchDogsInBatch(List<DogSearchRequestDto> searches) {
+        long requested = searches.stream().mapToLong(DogSearchRequestDto::getSize).sum();
+        if (requested > searchProperties.getBatchMaxResults()) {
+            throw new ResponseStatusException(HttpStatus.UNPROCESSABLE_CONTENT,
+                "the sizes of the searches must add up to at most %d"
+                    .formatted(searchProperties.getBatchMaxResults()));
+        }
+
+        var permits = getBatchPermits();
+        var keys = searches.stream().map(DogSearchKey::of).toList();
+        var results = new HashMap<DogSearchKey, CompletableFuture<DogSearchResult>>();
+        for (var index = 0; index < searches.size(); index++) {
+            var parameters = searches.get(index);
+            results.computeIfAbsent(keys.get(index), key -> {
+                // Waiting here rather than in the task keeps the executor's threads free
+                permits.acquireUninterruptibly();
+                try {
+                    var result = CompletableFuture.supplyAsync(
+                        () -> searchDogs(parameters), taskExecutor);
+                    result.whenComplete((value, exception) -> permits.release());
+                    return result;
+                } catch (RuntimeException exception) {
+                    permits.release();
+                    throw exception;
+                }
+            });
+        }
+        return keys.stream().map(key -> join(results.get(key))).toList();
+    }
+
+    /**
+     * Runs a cached search again without any caching, for refreshing the {@code searches}
+     * cache in the background.
+     *
+     * @param key key of the search
+     * @return the result of the search
+     */
+    public DogSearchResult loadSearch(DogSearchKey key) {
+        return runSearch(key.toRequest());
+    }
+
+    /**
+     * Runs a search with the selected engine without any caching. Radius searches always run
+     * in memory (see {@link DogIndexService}).
+     *
+     * @param parameters search parameters
+     * @return the result of the search
+     */
+    private DogSearchResult runSearch(DogSearchRequestDto parameters) {
+        if (parameters.getZip() != null) {
+            return dogIndexService.search(parameters);
+        }
+        return switch (searchProperties.getEngine()) {
+            case JPA -> searchDatabase(parameters);
+            case MEMORY -> dogIndexService.search(parameters);
+            case COMPARE -> compareSearches(parameters);
+        };
+    }
+
+    /**
+     * Returns the Caffeine cache behind {@code searches}, which holds a future per search so
+     * concurrent callers can share a load.
+     *
+     * @return the asynchronous cache of searches
+     */
+    @SuppressWarnings("unchecked")
+    private AsyncCache<DogSearchKey, DogSearchResult> getSearchCache() {
+        var cache = (CaffeineCache) Objects.requireNonNull(
+            cacheManager.getCache(CacheConfig.SEARCH_CACHE));
+        return (AsyncCache<DogSearchKey, DogSearchResult>) (AsyncCache<?, ?>) cache.getAsyncCache();
+    }
+
+    /**
+     * Waits for a future and rethrows the exception it failed with.
+     *
+     * @param future the future to wait for
+     * @param <T> type of the result
+     * @return the result of the future
+     */
+    private static <T> T join(CompletableFuture<T> future) {
+        try {
+            return future.join();
+        } catch (CompletionException exception) {
+            if (exception.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw exception;
+        }
+    }
+
+    /**
+     * Runs a search through both engines, logs how long each one took, and warns if they do not
+     * agree. The JPA result is returned since it is the reference implementation.
+     *
+     * @param parameters search parameters
+     * @return the result from the JPA engine
+     */
+    private DogSearchResult compareSearches(DogSearchRequestDto parameters) {
+        long start = System.nanoTime();
+        var expected = searchDatabase(parameters);
+        long databaseTime = System.nanoTime() - start;
+
+        start = System.nanoTime();
+        var actual = dogIndexService.search(parameters);
+        long indexTime = System.nanoTime() - start;
+
+        log.debug("Search took {} µs with JPA and {} µs in memory: {}",
+            TimeUnit.NANOSECONDS.toMicros(databaseTime),
+            TimeUnit.NANOSECONDS.toMicros(indexTime),
+            parameters);
+        if (expected.equals(actual) == false) {
+            log.warn("Search engines disagree on {}: JPA returned {}, memory returned {}",
+                parameters, expected, actual);
+        }
+        return expected;
+    }
+
+    /**
+     * Searches for dogs in the database. Ties in the sort key are broken by dog ID in the same
+     * direction as the sort, so the order is identical across pages and across engines.
      *
      * @param parameters search parameters
      * @return an object containing a list of dog IDs and the total count
      */
-    @Cacheable(
-        cacheNames = {CacheConfig.SEARCH_CACHE},
-        key = "#parameters.getAgeMax() + '_' + #parameters.getAgeMin() + '_' + "
-            + "#parameters.getBreeds() + '_' + #parameters.getFrom() + '_' + "
-            + "#parameters.getSize() + '_' + #parameters.getSort() + '_' + "
-            + "#parameters.getZipCodes()",
-        unless = "#result?.getSecond() <= 0"
-    )
-    @Transactional(readOnly = true)
-    public Pair<List<String>, Long> searchDogs(DogSearchRequestDto parameters) {
-        Specification<Dog> conditions = Specification.unrestricted();
-        if (parameters.getZipCodes() != null) {
-            conditions = conditions.and(DogSpecs.withZipCodes(parameters.getZipCodes()));
+    private DogSearchResult searchDatabase(DogSearchRequestDto parameters) {
+        var filter = DogSearchFilter.of(parameters);
+        var conditions = DogSpecs.withFilter(filter);
+        if (parameters.getCursor() != null) {
+            return seekDatabase(filter, conditions, parameters);
         }
-        if (parameters.getBreeds() != null) {
-            conditions = conditions.and(DogSpecs.withBreeds(parameters.getBreeds()));
+        if (isSliced(parameters)) {
+            return sliceDatabase(filter, conditions, parameters);
         }
-        if (parameters.getAgeMax() != null) {
-            conditions = conditions.and(DogSpecs.withAgeMax(parameters.getAgeMax()));
+
+        var sort = buildSort(parameters.getSort());
+        Pair<List<String>, Long> result = fetchWithTotal(filter, conditions, () ->
+            dogRepository.findIds(conditions, sort, parameters.getFrom(), parameters.getSize()));
+        return DogSearchResult.of(result.getFirst(), result.getSecond());
+    }
+
+    /**
+     * Tells whether a search is answered as a slice of a cached ID list, which happens to
+     * offset-based searches without a radius run by the JPA engine when
+     * {@code pupperfield.search.id-list-cache} is set. Such pages skip the {@code searches}
+     * cache, since the list already holds them.
+     *
+     * @param parameters search parameters
+     * @return whether the page is sliced from a cached ID list
+     */
+    public boolean isSliced(DogSearchRequestDto parameters) {
+        return searchProperties.isIdListCache()
+            && searchProperties.getEngine() != SearchProperties.Engine.MEMORY
+            && parameters.getCursor() == null
+            && parameters.getZip() == null;
+    }
+
+    /**
+     * Answers an offset-based search from the complete ordered list of matching dog IDs. The
+     * list is read from the database once per filter and sort order and kept in the
+     * {@code idLists} cache, so every other page of it costs an array copy and no query. Its
+     * length is the total, which is shared with the {@code totals} cache as well.
+     *
+     * @param filter normalized filter of the search
+     * @param conditions filters from the search parameters
+     * @param parameters search parameters
+     * @return an object containing a list of dog IDs and the total count
+     */
+    private DogSearchResult sliceDatabase(
+        DogSearchFilter filter,
+        Specification<Dog> conditions,
+        DogSearchRequestDto parameters
+    ) {
+        var idLists = Objects.requireNonNull(cacheManager.getCache(CacheConfig.ID_LIST_CACHE));
+        var ids = idLists.get(new DogIdListKey(filter, parameters.getSort()), () -> {
+            var list = DogIdList.of(dogRepository.findIds(
+                conditions, buildSort(parameters.getSort()), 0, Integer.MAX_VALUE));
+            Objects.requireNonNull(cacheManager.getCache(CacheConfig.TOTAL_CACHE))
+                .putIfAbsent(filter, (long) list.size());
+            return list;
+        });
+        return DogSearchResult.of(
+            Objects.requireNonNull(ids).slice(parameters.getFrom(), parameters.getSize()),
+            ids.size()
+        );
+    }
+
+    /**
+     * Tells whether a search is large enough to be streamed with
+     * {@link #streamDogs(DogSearchRequestDto, BiConsumer)} instead of being answered by
+     * {@link #searchDogs(DogSearchRequestDto)}. Only offset-based searches whose page size is
+     * above {@code pupperfield.search.stream-threshold} are streamed.
+     *
+     * @param parameters search parameters
+     * @return whether the search should be streamed
+     */
+    public boolean isStreamed(DogSearchRequestDto parameters) {
+        return parameters.getCursor() == null
+            && parameters.getSize() > searchProperties.getStreamThreshold();
+    }
+
+    /**
+     * Runs an offset-based search and hands the matching dog IDs to {@code consumer} one by one
+     * instead of collecting them. With the JPA engine, the IDs are scrolled from an open result
+     * set, so memory use does not grow with the page size. The page is never cached, only its
+     * total is. The read-only transaction, and so one pooled connection, is held until the
+     * consumer returns; when the consumer writes to a client, a slow client keeps it for as long
+     * as the response takes, which is why only pages above the stream threshold take this path.
+     *
+     * @param parameters search parameters
+     * @param consumer receives the total count and the dog IDs on the page; the stream is only
+     * valid until the consumer returns
+     */
+    @Transactional(readOnly = true)
+    public void streamDogs(
+        DogSearchRequestDto parameters,
+        BiConsumer<Long, Stream<String>> consumer
+    ) {
+        if (searchProperties.getEngine() == SearchProperties.Engine.MEMORY
+            || parameters.getZip() != null) {
+            var result = dogIndexService.search(parameters);
+            consumer.accept(result.total(), result.resultIds().stream());
+            return;
         }
-        if (parameters.getAgeMin() != null) {
-            conditions = conditions.and(DogSpecs.withAgeMin(parameters.getAgeMin()));
+
+        var filter = DogSearchFilter.of(parameters);
+        var conditions = DogSpecs.withFilter(filter);
+        var totals = Objects.requireNonNull(cacheManager.getCache(CacheConfig.TOTAL_CACHE));
+        long total = totals.get(filter, () -> dogRepository.count(conditions));
+        try (var ids = dogRepository.streamIds(
+            conditions,
+            buildSort(parameters.getSort()),
+            parameters.getFrom(),
+            parameters.getSize()
+        )) {
+            consumer.accept(total, ids);
         }
+    }
+
+    /**
+     * Turns the sort parameter into a JPA sort that breaks ties by dog ID in the same direction.
+     *
+     * @param sort sort parameter such as {@code breed:asc}
+     * @return the corresponding sort
+     */
+    private static Sort buildSort(String sort) {
+        String[] sortInfo = sort.split(":");
+        var direction = sortInfo[1].equals("asc") ? ASC : DESC;
+        return Sort.by(new Order(direction, sortInfo[0]), new Order(direction, "id"));
+    }
 
+    /**
+     * Pages through the database with a keyset cursor. Rather than skipping {@code from} rows,
+     * the query seeks past the (sort key, ID) position in the cursor, so deep pages cost the same
+     * as the first one. One row more than the page size is read to find out whether another page
+     * exists.
+     *
+     * @param filter normalized filter of the search
+     * @param conditions filters from the search parameters
+     * @param parameters search parameters with a cursor
+     * @return an object containing a list of dog IDs, the total count and neighboring cursors
+     */
+    private DogSearchResult seekDatabase(
+        DogSearchFilter filter,
+        Specification<Dog> conditions,
+        DogSearchRequestDto parameters
+    ) {
         String[] sortInfo = parameters.getSort().split(":");
-        Page<Dog> result = dogRepository.findAll(conditions, new DogSearchPagination(
+        var field = sortInfo[0];
+        var cursor = parameters.getCursor().isEmpty()
+            ? null
+            : DogSearchCursor.decode(parameters.getCursor());
+
+        // A previous page is read backwards from the cursor and flipped afterward
+        boolean upward = sortInfo[1].equals("asc") == (cursor == null || cursor.after());
+        var direction = upward ? ASC : DESC;
+        var page = cursor == null
+            ? conditions
+            : conditions.and(DogSpecs.withKeyset(field, cursor.key(), cursor.id(), upward));
+        var limit = (int) Math.min((long) parameters.getSize() + 1, Integer.MAX_VALUE);
+        Pair<List<Pair<String, String>>, Long> result = fetchWithTotal(filter, conditions, () ->
+            dogRepository.findIdsAndKeys(
+                page,
+                field,
+                Sort.by(new Order(direction, field), new Order(direction, "id")),
+                limit
+            ));
+
+        var rows = result.getFirst();
+        return DogSearchCursor.paginate(
+            cursor,
+            parameters.getSort(),
             parameters.getSize(),
-            parameters.getFrom(),
-            Sort.by(new Order(sortInfo[1].equals("asc") ? ASC : DESC, sortInfo[0]))
-        ));
-        return Pair.of(
-            result.getContent()
-                .stream()
-                .map(Dog::getId)
-                .toList(),
-            result.getTotalElements()
+            rows.stream().map(Pair::getFirst).toList(),
+            rows.stream().map(Pair::getSecond).toList(),
+            result.getSecond()
         );
     }
 
+    /**
+     * Runs a page query and looks up the total number of dogs matching its filter. Totals are
+     * cached by filter alone, so paging through a search or changing its sort order counts the
+     * matching rows only once. On a miss, the count runs either after the page query or, when
+     * {@code pupperfield.search.concurrent-count} is set, alongside it on another connection.
+     *
+     * @param filter normalized filter of the search
+     * @param conditions filters from the search parameters
+     * @param fetch the page query
+     * @param <T> type of the page
+     * @return the page and the total count
+     */
+    private <T> Pair<T, Long> fetchWithTotal(
+        DogSearchFilter filter,
+        Specification<Dog> conditions,
+        Supplier<T> fetch
+    ) {
+        var totals = Objects.requireNonNull(cacheManager.getCache(CacheConfig.TOTAL_CACHE));
+        var total = totals.get(filter, Long.class);
+        if (total != null) {
+            return Pair.of(fetch.get(), total);
+        }
+        if (searchProperties.isConcurrentCount() == false) {
+            var page = fetch.get();
+            return Pair.of(page, totals.get(filter, () -> dogRepository.count(conditions)));
+        }
+
+        var count = CompletableFuture.supplyAsync(
+            () -> dogRepository.count(conditions), taskExecutor);
+        var page = fetch.get();
+        total = join(count);
+        totals.put(filter, total);
+        return Pair.of(page, total);
+    }
+
+    /**
+     * Renders search parameters as a /dogs/search query string, so the navigation links of a
+     * search that did not come from a query string, such as one in a batch, can be built by
+     * {@link #buildNavigation(String, Integer, Integer)} and
+     * {@link #buildCursorNavigation(String, String)}. Listed values are joined with commas.
+     *
+     * @param parameters search parameters
+     * @return a query string without the leading "?"
+     */
+    public String buildQuery(DogSearchRequestDto parameters) {
+        var pairs = new LinkedList<String>();
+        BiConsumer<String, List<?>> add = (name, values) -> {
+            if (values != null) {
+                pairs.add("%s=%s".formatted(name, values.stream()
+                    .map(value -> URLEncoder.encode(value.toString(), StandardCharsets.UTF_8))
+                    .collect(Collectors.joining(","))));
+            }
+        };
+        add.accept("ageMax", listOf(parameters.getAgeMax()));
+        add.accept("ageMin", listOf(parameters.getAgeMin()));
+        add.accept("breeds", parameters.getBreeds());
+        add.accept("cursor", listOf(parameters.getCursor()));
+        add.accept("distance", listOf(parameters.getDistance()));
+        add.accept("from", listOf(parameters.getFrom()));
+        add.accept("include", listOf(parameters.getInclude()));
+        add.accept("size", listOf(parameters.getSize()));
+        add.accept("sort", listOf(parameters.getSort()));
+        add.accept("zip", listOf(parameters.getZip()));
+        add.accept("zipCodes", parameters.getZipCodes());
+        return String.join("&", pairs);
+    }
+
+    /**
+     * Wraps a single search value for {@link #buildQuery(DogSearchRequestDto)}.
+     *
+     * @param value a value, or null
+     * @return a list of the value, or null if {@code value} is null
+     */
+    private static List<?> listOf(Object value) {
+        return value == null ? null : List.of(value);
+    }
+
     /**
      * Builds a navigation URL for search pagination. Since the controller handles validation
      * already, arguments are assumed to be always valid (so no any kind of error checking here).
@@ -182,4 +648,37 @@ public class DogService {
         }
         return "/dogs/search?%s".formatted(String.join("&", pairs));
     }
+
+    /**
+     * Builds a navigation URL for cursor-based search pagination. The "cursor" field is replaced
+     * with (or set to) the given cursor and any "from" field is dropped since it is ignored in
+     * cursor mode. Like {@link #buildNavigation(String, Integer, Integer)}, repeated "cursor"
+     * fields are collapsed into one.
+     *
+     * @param query current query string
+     * @param cursor an opaque cursor for the target page
+     * @return a full query string for pagination
+     */
+    public String buildCursorNavigation(String query, String cursor) {
+        var pairs = new LinkedList<String>();
+        if (isNotBlank(query)) {
+            Collections.addAll(pairs, query.split("&"));
+        }
+
+        boolean cursorExists = false;
+        var iterator = pairs.listIterator();
+        while (iterator.hasNext()) {
+            String pair = iterator.next();
+            if (pair.startsWith("from=") || (pair.startsWith("cursor=") && cursorExists)) {
+                iterator.remove();
+            } else if (pair.startsWith("cursor=")) {
+                iterator.set("cursor=%s".formatted(cursor));
+                cursorExists = true;
+            }
+        }
+        if (cursorExists == false) {
+            pairs.add("cursor=%s".formatted(cursor));
+        }
+        return "/dogs/search?%s".formatted(String.join("&", pairs));
+    }
 }
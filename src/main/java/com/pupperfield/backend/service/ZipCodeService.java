@@ -0,0 +1,147 @@
+package com.pupperfield.backend.service;
+
+import com.pupperfield.backend.config.ZipCodeProperties;
+import com.pupperfield.backend.index.ZipCodeGrid;
+import com.pupperfield.backend.model.DogSearchRequestDto;
+import jakarta.annotation.PostConstruct;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A service that turns radius searches into zip code filters with a {@link ZipCodeGrid} of the
+ * centroids in {@code pupperfield.zip-code.centroids}, which is loaded once at startup. Without
+ * centroids, radius searches are refused rather than narrowed to their center, and an error is
+ * logged at startup so a deployment missing the file is noticed before the first search.
+ */
+@AllArgsConstructor
+@Service
+@Slf4j
+public class ZipCodeService {
+    private ZipCodeProperties zipCodeProperties;
+
+    @Getter(lazy = true)
+    private final ZipCodeGrid grid = loadGrid();
+
+    /**
+     * Loads the grid at startup, so the first radius search does not pay for it, and reports an
+     * empty grid as an error.
+     */
+    @PostConstruct
+    public void initialize() {
+        if (getGrid().size() == 0) {
+            log.error("No zip code centroids were loaded from {}, so every radius search will be "
+                + "answered with HTTP 503; generate the file with the populator",
+                zipCodeProperties.getCentroids());
+        }
+    }
+
+    /**
+     * Checks that a radius search can be answered, before anything is searched or cached.
+     *
+     * @param parameters search parameters
+     * @throws ResponseStatusException with HTTP 503 if {@code parameters} have a radius but no
+     * centroids are loaded, since the radius could not be answered correctly
+     */
+    public void checkRadius(DogSearchRequestDto parameters) {
+        if (parameters.getZip() != null && getGrid().size() == 0) {
+            throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE,
+                "radius searches are not available without zip code centroids");
+        }
+    }
+
+    /**
+     * Finds the zip codes within a distance of a zip code.
+     *
+     * @param zipCode the center of the search
+     * @param miles the radius of the search
+     * @return matching zip codes in ascending order, always including {@code zipCode}
+     */
+    public List<String> findWithin(String zipCode, double miles) {
+        return getGrid().findWithin(zipCode, miles);
+    }
+
+    /**
+     * Replaces the radius of a search with the zip codes inside it. Only the in-memory index
+     * runs the result; cache keys and other engines keep the center and distance.
+     *
+     * @param parameters search parameters
+     * @return {@code parameters} itself if they have no radius, or a copy with {@code zipCodes}
+     * set to the zip codes inside it
+     * @throws ResponseStatusException with HTTP 503 if no centroids are loaded, since the
+     * radius could not be answered correctly
+     */
+    public DogSearchRequestDto resolve(DogSearchRequestDto parameters) {
+        if (parameters.getZip() == null || parameters.getDistance() == null) {
+            return parameters;
+        }
+        checkRadius(parameters);
+        return parameters.toBuilder()
+            .distance(null)
+            .zip(null)
+            .zipCodes(findWithin(parameters.getZip(), parameters.getDistance()))
+            .build();
+    }
+
+    /**
+     * Reads the centroid file into a new grid. A missing file leaves the grid empty.
+     *
+     * @return a grid over all centroids
+     * @throws UncheckedIOException if the file cannot be read
+     */
+    private ZipCodeGrid loadGrid() {
+        var location = zipCodeProperties.getCentroids();
+        if (location == null || location.exists() == false) {
+            return ZipCodeGrid.of(List.of(), zipCodeProperties.getCellSize());
+        }
+
+        long start = System.nanoTime();
+        var centroids = new ArrayList<ZipCodeGrid.Centroid>();
+        try (var reader = new BufferedReader(
+            new InputStreamReader(location.getInputStream(), StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                var columns = line.split(",");
+                if (columns.length < 3 || line.startsWith("#") || isNumber(columns[1]) == false) {
+                    continue;
+                }
+                centroids.add(new ZipCodeGrid.Centroid(columns[0].strip(),
+                    Double.parseDouble(columns[1]), Double.parseDouble(columns[2])));
+            }
+        } catch (IOException exception) {
+            throw new UncheckedIOException(
+                "Failed to read zip code centroids from %s".formatted(location), exception);
+        }
+        var grid = ZipCodeGrid.of(centroids, zipCodeProperties.getCellSize());
+        log.info("Loaded {} zip code centroids in {} ms",
+            grid.size(), TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+        return grid;
+    }
+
+    /**
+     * Checks whether a CSV column holds a number, which tells a header line from data.
+     *
+     * @param column a column of the line
+     * @return whether the column can be parsed as a number
+     */
+    private static boolean isNumber(String column) {
+        try {
+            Double.parseDouble(column);
+            return true;
+        } catch (NumberFormatException exception) {
+            return false;
+        }
+    }
+}
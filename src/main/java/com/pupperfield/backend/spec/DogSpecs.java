@@ -1,6 +1,10 @@
 package com.pupperfield.backend.spec;
 
 import com.pupperfield.backend.entity.Dog;
+import com.pupperfield.backend.model.DogSearchFilter;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.Expression;
+import jakarta.persistence.criteria.Predicate;
 import lombok.NoArgsConstructor;
 import org.springframework.data.jpa.domain.Specification;
 
@@ -12,6 +16,36 @@ import java.util.List;
  */
 @NoArgsConstructor(access = lombok.AccessLevel.PRIVATE)
 public class DogSpecs {
+    /**
+     * Returns a Specification that combines every condition of a search filter. Radius filters
+     * are not translated, since the zip codes inside a radius would have to be listed in the
+     * query; they are answered by {@link com.pupperfield.backend.service.DogIndexService
+     * DogIndexService} instead.
+     *
+     * @param filter normalized filter of the search
+     * @return a Specification matching the filter
+     * @throws IllegalArgumentException if the filter has a radius
+     */
+    public static Specification<Dog> withFilter(DogSearchFilter filter) {
+        if (filter.zip() != null) {
+            throw new IllegalArgumentException("Radius filters cannot be run as SQL");
+        }
+        Specification<Dog> conditions = Specification.unrestricted();
+        if (filter.zipCodes() != null) {
+            conditions = conditions.and(withZipCodes(filter.zipCodes()));
+        }
+        if (filter.breeds() != null) {
+            conditions = conditions.and(withBreeds(filter.breeds()));
+        }
+        if (filter.ageMax() != null) {
+            conditions = conditions.and(withAgeMax(filter.ageMax()));
+        }
+        if (filter.ageMin() != null) {
+            conditions = conditions.and(withAgeMin(filter.ageMin()));
+        }
+        return conditions;
+    }
+
     /**
      * Returns a Specification that filters dogs by a list of breeds.
      *
@@ -52,4 +86,66 @@ public class DogSpecs {
     public static Specification<Dog> withZipCodes(List<String> zipCodes) {
         return (root, query, builder) -> builder.in(root.get("zipCode")).value(zipCodes);
     }
+
+    /**
+     * Returns a Specification that keeps dogs strictly beyond a keyset position, i.e. the row
+     * value comparison {@code (field, id) > (key, id)} when scanning upward and {@code <} when
+     * scanning downward. A redundant bound on {@code field} alone is added so SQLite can seek
+     * into an index on {@code (field, id)} instead of filtering from its start.
+     *
+     * @param field the sort field, which is one of age, breed and name
+     * @param key the value of {@code field} at the keyset position
+     * @param id the dog ID at the keyset position
+     * @param upward whether to keep larger positions instead of smaller ones
+     * @return a Specification to filter dogs beyond ({@code key}, {@code id})
+     */
+    public static Specification<Dog> withKeyset(
+        String field,
+        String key,
+        String id,
+        boolean upward
+    ) {
+        return (root, query, builder) -> field.equals("age")
+            ? seek(builder, root.<Integer>get(field), Integer.valueOf(key), root.get("id"), id,
+                upward)
+            : seek(builder, root.<String>get(field), key, root.get("id"), id, upward);
+    }
+
+    /**
+     * Builds the keyset predicate for a sort field of any comparable type.
+     *
+     * @param builder a criteria builder
+     * @param path the sort field
+     * @param key the value of the sort field at the keyset position
+     * @param idPath the dog ID field
+     * @param id the dog ID at the keyset position
+     * @param upward whether to keep larger positions instead of smaller ones
+     * @param <T> the type of the sort field
+     * @return a predicate to filter dogs beyond ({@code key}, {@code id})
+     */
+    private static <T extends Comparable<? super T>> Predicate seek(
+        CriteriaBuilder builder,
+        Expression<T> path,
+        T key,
+        Expression<String> idPath,
+        String id,
+        boolean upward
+    ) {
+        if (upward) {
+            return builder.and(
+                builder.greaterThanOrEqualTo(path, key),
+                builder.or(
+                    builder.greaterThan(path, key),
+                    builder.and(builder.equal(path, key), builder.greaterThan(idPath, id))
+                )
+            );
+        }
+        return builder.and(
+            builder.lessThanOrEqualTo(path, key),
+            builder.or(
+                builder.lessThan(path, key),
+                builder.and(builder.equal(path, key), builder.lessThan(idPath, id))
+            )
+        );
+    }
 }
@@ -0,0 +1,203 @@
+package com.pupperfield.backend.warmup;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import com.pupperfield.backend.cache.DogIdListKey;
+import com.pupperfield.backend.cache.DogSearchKey;
+import com.pupperfield.backend.config.CacheConfig;
+import com.pupperfield.backend.config.WarmupProperties;
+import com.pupperfield.backend.model.DogSearchFilter;
+import com.pupperfield.backend.model.DogSearchRequestDto;
+import com.pupperfield.backend.service.DogService;
+import com.zaxxer.hikari.HikariDataSource;
+import lombok.AllArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Warms up the application before the web server starts, so the first real requests do not pay
+ * for opening connections, compiling query plans, filling caches and running cold code. It fills
+ * the connection pool, caches the breed list, runs the searches from
+ * {@code pupperfield.warmup}, looks up some of the dogs they found, and logs how long that took,
+ * how many of the searches stayed cached and the hits and misses the {@code searches} cache
+ * recorded meanwhile.
+ */
+@AllArgsConstructor
+@Component
+@Slf4j
+public class StartupWarmup implements SmartLifecycle {
+    /**
+     * Lifecycle phase of the warmup. The web server starts in a much later phase, so it does not
+     * accept requests until the warmup is over.
+     */
+    public static final int PHASE = 0;
+
+    private CacheManager cacheManager;
+    private HikariDataSource dataSource;
+    private DogService dogService;
+    private WarmupProperties warmupProperties;
+
+    private final AtomicBoolean running = new AtomicBoolean();
+
+    /**
+     * Runs the warmup unless it is disabled. A failing step is logged and skipped, since a cold
+     * application still works.
+     */
+    public void start() {
+        running.set(true);
+        if (warmupProperties.isEnabled() == false) {
+            return;
+        }
+
+        long start = System.nanoTime();
+        var before = getSearchStats();
+        int connections = fillPool();
+        var searches = new ArrayList<>(warmupProperties.getSearches());
+        int breeds = 0;
+        try {
+            var breedList = dogService.getBreeds();
+            breeds = breedList.size();
+            if (warmupProperties.isBreedSearches()) {
+                for (var breed : breedList) {
+                    searches.add(DogSearchRequestDto.builder().breeds(List.of(breed)).build());
+                }
+            }
+        } catch (RuntimeException exception) {
+            log.warn("Failed to warm up the breed list", exception);
+        }
+
+        var ids = new ArrayList<String>();
+        for (var search : searches) {
+            try {
+                var result = dogService.searchDogs(search);
+                result.resultIds().stream()
+                    .limit(Math.max(0, warmupProperties.getListSize() - ids.size()))
+                    .forEach(ids::add);
+            } catch (RuntimeException exception) {
+                log.warn("Failed to warm up search {}", search, exception);
+            }
+        }
+        try {
+            if (ids.isEmpty() == false) {
+                dogService.listDogs(ids);
+            }
+        } catch (RuntimeException exception) {
+            log.warn("Failed to warm up the dog list", exception);
+        }
+
+        long cached = searches.stream().filter(this::isCached).count();
+        var stats = getSearchStats().minus(before);
+        log.info("Warmed up {} connections, {} breeds, {} searches and {} dogs in {} ms; "
+                + "{} of the searches are cached, and the searches cache recorded {} hits and "
+                + "{} misses",
+            connections, breeds, searches.size(), ids.size(),
+            TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start),
+            cached, stats.hitCount(), stats.missCount());
+    }
+
+    /**
+     * Marks the warmup as stopped. It leaves nothing behind to release.
+     */
+    public void stop() {
+        running.set(false);
+    }
+
+    /**
+     * Tells whether the warmup has run.
+     *
+     * @return whether {@link #start()} has been called since the last {@link #stop()}
+     */
+    public boolean isRunning() {
+        return running.get();
+    }
+
+    /**
+     * Returns the lifecycle phase of the warmup.
+     *
+     * @return {@link #PHASE}
+     */
+    public int getPhase() {
+        return PHASE;
+    }
+
+    /**
+     * Opens as many connections as the pool keeps idle at once and returns them, so the pool does
+     * not create them while requests wait.
+     *
+     * @return number of connections opened
+     */
+    private int fillPool() {
+        var connections = new ArrayList<Connection>();
+        try {
+            while (connections.size() < dataSource.getMinimumIdle()) {
+                connections.add(dataSource.getConnection());
+            }
+        } catch (SQLException exception) {
+            log.warn("Failed to fill the connection pool", exception);
+        } finally {
+            for (var connection : connections) {
+                try {
+                    connection.close();
+                } catch (SQLException exception) {
+                    log.debug("Failed to return connection", exception);
+                }
+            }
+        }
+        return connections.size();
+    }
+
+    /**
+     * Tells whether a search is in the cache that would answer it. The native caches are
+     * checked through their map views, so the check neither counts as a hit nor resets the
+     * expiration of the entry.
+     *
+     * @param search search parameters
+     * @return whether the search or its ID list is cached
+     */
+    private boolean isCached(DogSearchRequestDto search) {
+        if (dogService.isSliced(search)) {
+            return contains(CacheConfig.ID_LIST_CACHE,
+                new DogIdListKey(DogSearchFilter.of(search), search.getSort()));
+        }
+        return contains(CacheConfig.SEARCH_CACHE, DogSearchKey.of(search));
+    }
+
+    /**
+     * Checks whether a cache holds a key without reading the entry.
+     *
+     * @param name name of the cache
+     * @param key key to look for
+     * @return whether the cache holds {@code key}
+     */
+    private boolean contains(String name, Object key) {
+        var cache = Objects.requireNonNull(cacheManager.getCache(name)).getNativeCache();
+        if (cache instanceof Cache<?, ?> caffeineCache) {
+            return caffeineCache.asMap().containsKey(key);
+        }
+        return cache instanceof Map<?, ?> map && map.containsKey(key);
+    }
+
+    /**
+     * Reads the statistics of the {@code searches} cache.
+     *
+     * @return its statistics, or empty ones if it is not a Caffeine cache
+     */
+    private CacheStats getSearchStats() {
+        var cache = Objects.requireNonNull(cacheManager.getCache(CacheConfig.SEARCH_CACHE))
+            .getNativeCache();
+        return cache instanceof Cache<?, ?> caffeineCache
+            ? caffeineCache.stats()
+            : CacheStats.empty();
+    }
+}
@@ -4,14 +4,24 @@ import com.pupperfield.backend.controller.AuthController;
 import com.pupperfield.backend.controller.DogController;
 import com.pupperfield.backend.controller.StatusController;
 import com.pupperfield.backend.filter.AuthFilter;
+import com.pupperfield.backend.service.DatasetETagService;
+import com.pupperfield.backend.service.DatasetVersionService;
+import com.pupperfield.backend.service.DogFacetService;
+import com.pupperfield.backend.service.DogNameService;
 import com.pupperfield.backend.service.DogService;
 import com.pupperfield.backend.service.TokenService;
+import com.pupperfield.backend.service.ZipCodeService;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.webmvc.test.autoconfigure.WebMvcTest;
 import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpStatus;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.function.BiConsumer;
+import java.util.stream.Stream;
 
 import static com.pupperfield.backend.auth.AuthRequestBuilder.getAuthCookie;
 import static com.pupperfield.backend.constant.AuthConstants.LOGIN_PATH;
@@ -21,7 +31,11 @@ import static com.pupperfield.backend.constant.DogConstants.DOG_BREEDS_PATH;
 import static com.pupperfield.backend.constant.DogConstants.DOG_MATCH_PATH;
 import static com.pupperfield.backend.constant.DogConstants.DOG_SEARCH_PATH;
 import static com.pupperfield.backend.constant.StatusConstants.STATUS_PATH;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.BDDMockito.given;
+import static org.mockito.BDDMockito.willAnswer;
+import static org.mockito.BDDMockito.willThrow;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
@@ -33,13 +47,23 @@ import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.
 @Import({
     AuthController.class,
     AuthFilter.class,
+    DatasetETagService.class,
     DogController.class,
     DogService.class,
     StatusController.class,
     TokenService.class
 })
-@WebMvcTest(ExceptionAdvice.class)
+@WebMvcTest(controllers = ExceptionAdvice.class, properties = "pupperfield.etag.enabled=false")
 public class ExceptionAdviceIntegrationTests {
+    @MockitoBean
+    private DatasetVersionService datasetVersionService;
+
+    @MockitoBean
+    private DogFacetService dogFacetService;
+
+    @MockitoBean
+    private DogNameService dogNameService;
+
     @MockitoBean
     private DogService dogService;
 
@@ -49,6 +73,9 @@ public class ExceptionAdviceIntegrationTests {
     @MockitoBean
     private StatusController statusController;
 
+    @MockitoBean
+    private ZipCodeService zipCodeService;
+
     @Test
     public void testInvalidPath() throws Exception {
         mockMvc.perform(get("/status/invalid-path")).andExpect(status().isNotFound());
@@ -87,6 +114,16 @@ public class ExceptionAdviceIntegrationTests {
         mockMvc.perform(request).andExpect(status().isUnprocessableContent());
     }
 
+    @Test
+    public void testServiceUnavailable() throws Exception {
+        willThrow(new ResponseStatusException(
+            HttpStatus.SERVICE_UNAVAILABLE, "radius searches are not available"))
+            .given(zipCodeService).checkRadius(any());
+        var request = get(DOG_SEARCH_PATH + "?distance=10&zip=72080")
+            .cookie(getAuthCookie(mockMvc, "test@email.com", "test"));
+        mockMvc.perform(request).andExpect(status().isServiceUnavailable());
+    }
+
     @Test
     public void testUnauthorized() throws Exception {
         mockMvc.perform(get(DOG_BREEDS_PATH)).andExpect(status().isUnauthorized());
@@ -114,6 +151,28 @@ public class ExceptionAdviceIntegrationTests {
         verify(statusController, times(1)).report();
     }
 
+    @SuppressWarnings("unchecked")
+    @Test
+    public void testFailureWhileStreaming() throws Exception {
+        given(dogService.isStreamed(any())).willReturn(true);
+        willAnswer(invocation -> {
+            invocation.<BiConsumer<Long, Stream<String>>>getArgument(1).accept(
+                5000L,
+                Stream.concat(
+                    Stream.generate(() -> "rr_-OZUBBPFf4ZNZzPlX").limit(2000),
+                    Stream.of("").map(id -> {
+                        throw new IllegalStateException("connection lost");
+                    })
+                )
+            );
+            return null;
+        }).given(dogService).streamDogs(any(), any());
+        var request = get(DOG_SEARCH_PATH + "?size=5000")
+            .cookie(getAuthCookie(mockMvc, "test@email.com", "test"));
+        assertThatThrownBy(() -> mockMvc.perform(request))
+            .hasRootCauseInstanceOf(IllegalStateException.class);
+    }
+
     @Test
     public void testOptionsMethodWillNotBeUnauthorized() throws Exception {
         mockMvc.perform(options(LOGIN_PATH)).andExpect(status().isOk());
@@ -0,0 +1,85 @@
+package com.pupperfield.backend.cache;
+
+import com.pupperfield.backend.model.DogDto;
+import com.pupperfield.backend.model.DogFacetsDto;
+import com.pupperfield.backend.model.DogSearchFilter;
+import com.pupperfield.backend.model.DogSearchRequestDto;
+import com.pupperfield.backend.model.DogSearchResult;
+import org.junit.jupiter.api.Test;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class CacheWeigherTests {
+    private final CacheWeigher weigher = new CacheWeigher();
+
+    @Test
+    public void testWeightGrowsWithIds() {
+        var key = DogSearchKey.of(DogSearchRequestDto.builder().build());
+        var small = weigher.weigh(key, DogSearchResult.of(
+            Collections.nCopies(25, "qcD-OZUBBPFf4ZNZzDCC"), 25L));
+        var large = weigher.weigh(key, DogSearchResult.of(
+            Collections.nCopies(100, "qcD-OZUBBPFf4ZNZzDCC"), 100L));
+        assertThat(small).isGreaterThan(25 * 20);
+        assertThat(large - small).isGreaterThan(75 * 20);
+    }
+
+    @Test
+    public void testWeightGrowsWithFilter() {
+        var result = DogSearchResult.of(List.of("qcD-OZUBBPFf4ZNZzDCC"), 1L);
+        var plain = weigher.weigh(DogSearchKey.of(DogSearchRequestDto.builder().build()), result);
+        var filtered = weigher.weigh(DogSearchKey.of(DogSearchRequestDto.builder()
+            .zipCodes(Collections.nCopies(10, "10001"))
+            .breeds(List.of("Beagle", "Pug"))
+            .build()), result);
+        assertThat(filtered).isGreaterThan(plain);
+    }
+
+    @Test
+    public void testWeighDogs() {
+        var dog = DogDto.builder()
+            .age(3)
+            .breed("Beagle")
+            .id("qcD-OZUBBPFf4ZNZzDCC")
+            .imageLink("https://frontend-take-home.fetch.com/dog-images/n02088364-beagle/1.jpg")
+            .name("Emory")
+            .zipCode("10001")
+            .build();
+        var one = weigher.weigh(List.of(dog.getId()), List.of(dog));
+        var many = weigher.weigh(
+            Collections.nCopies(100, dog.getId()), Collections.nCopies(100, dog));
+        assertThat(one).isGreaterThan(dog.getImageLink().length() + dog.getId().length() * 2);
+        assertThat(many - one)
+            .isGreaterThan(99 * (dog.getImageLink().length() + dog.getId().length() * 2));
+    }
+
+    @Test
+    public void testWeighFacets() {
+        var zipCodes = new TreeMap<String, Long>();
+        for (var zipCode = 10000; zipCode < 11000; zipCode++) {
+            zipCodes.put(String.valueOf(zipCode), 1L);
+        }
+        var facets = new DogFacetsDto(
+            new TreeMap<>(Map.of(3, 1000L)), new TreeMap<>(Map.of("Beagle", 1000L)), 1000,
+            zipCodes);
+        var filter = DogSearchFilter.of(DogSearchRequestDto.builder().build());
+        assertThat(weigher.weigh(filter, facets)).isGreaterThan(1000 * (40 + 5 + 24));
+    }
+
+    @Test
+    public void testWeighIdList() {
+        var ids = Collections.nCopies(20_000, "qcD-OZUBBPFf4ZNZzDCC");
+        var weight = weigher.weigh(new DogIdListKey(null, "breed:asc"), DogIdList.of(ids));
+        assertThat(weight).isBetween(20_000 * 20, 20_000 * 21);
+    }
+
+    @Test
+    public void testWeighUnknownValues() {
+        assertThat(weigher.weigh(null, 1L)).isPositive();
+        assertThat(weigher.weigh(new Object(), new Object())).isPositive();
+    }
+}
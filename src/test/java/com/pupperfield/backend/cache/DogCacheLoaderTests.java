@@ -0,0 +1,36 @@
+package com.pupperfield.backend.cache;
+
+import com.pupperfield.backend.model.DogDto;
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+import java.util.concurrent.Executors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class DogCacheLoaderTests {
+    private static final CachedDog NEW =
+        new CachedDog(DogDto.builder().id("id").name("New").build(), new byte[0]);
+    private static final CachedDog OLD =
+        new CachedDog(DogDto.builder().id("id").name("Old").build(), new byte[0]);
+
+    @Test
+    public void testReload() {
+        try (var loader = new DogCacheLoader(
+            ids -> ids.contains("id") ? Map.of("id", NEW) : Map.of(),
+            Executors.newSingleThreadExecutor())) {
+            assertThat(loader.asyncReload("id", OLD, Runnable::run).join()).isSameAs(NEW);
+            assertThat(loader.load("id")).isSameAs(NEW);
+            assertThat(loader.getRefreshCount()).isEqualTo(1);
+        }
+    }
+
+    @Test
+    public void testReloadMissingDog() {
+        try (var loader = new DogCacheLoader(
+            ids -> Map.of(), Executors.newSingleThreadExecutor())) {
+            assertThat(loader.asyncReload("id", OLD, Runnable::run).join()).isNull();
+            assertThat(loader.getRefreshFailureCount()).isZero();
+        }
+    }
+}
@@ -0,0 +1,44 @@
+package com.pupperfield.backend.cache;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class DogIdListTests {
+    private static final List<String> IDS = List.of(
+        "n8D-OZUBBPFf4ZNZzCt-",
+        "gcD-OZUBBPFf4ZNZzAli",
+        "G8D-OZUBBPFf4ZNZzBxx",
+        "Wr_-OZUBBPFf4ZNZzPJO",
+        "xMD-OZUBBPFf4ZNZzCp9"
+    );
+
+    @Test
+    public void testSlice() {
+        var list = DogIdList.of(IDS);
+        assertThat(list.size()).isEqualTo(5);
+        assertThat(list.slice(0, 5)).isEqualTo(IDS);
+        assertThat(list.slice(1, 2)).containsExactly(IDS.get(1), IDS.get(2));
+        assertThat(list.slice(3, 25)).containsExactly(IDS.get(3), IDS.get(4));
+        assertThat(list.slice(5, 25)).isEmpty();
+        assertThat(list.slice(100, Integer.MAX_VALUE)).isEmpty();
+    }
+
+    @Test
+    public void testSliceWithVariableLengths() {
+        var ids = List.of("a", "", "bcd", "éf", "ghij");
+        var list = DogIdList.of(ids);
+        assertThat(list.size()).isEqualTo(5);
+        assertThat(list.slice(0, 5)).isEqualTo(ids);
+        assertThat(list.slice(2, 2)).containsExactly("bcd", "éf");
+    }
+
+    @Test
+    public void testEmptyList() {
+        var list = DogIdList.of(List.of());
+        assertThat(list.size()).isZero();
+        assertThat(list.slice(0, 25)).isEmpty();
+    }
+}
@@ -0,0 +1,90 @@
+package com.pupperfield.backend.cache;
+
+import com.pupperfield.backend.model.DogSearchRequestDto;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class DogSearchKeyTests {
+    @Test
+    public void testKeysIgnoreOrderAndDuplicates() {
+        var key1 = DogSearchKey.of(DogSearchRequestDto.builder()
+            .breeds(List.of("Pug", "Beagle"))
+            .zipCodes(List.of("10001", "10002", "10001"))
+            .build());
+        var key2 = DogSearchKey.of(DogSearchRequestDto.builder()
+            .breeds(List.of("Beagle", "Pug", "Beagle"))
+            .zipCodes(List.of("10002", "10001"))
+            .build());
+        assertThat(key1).isEqualTo(key2);
+        assertThat(key1.hashCode()).isEqualTo(key2.hashCode());
+        assertThat(key1.getFilter().breeds()).containsExactly("Beagle", "Pug");
+        assertThat(key1.getFilter().zipCodes()).containsExactly("10001", "10002");
+    }
+
+    @Test
+    public void testKeysDifferByPageAndSort() {
+        var key = DogSearchKey.of(DogSearchRequestDto.builder().build());
+        assertThat(key).isNotEqualTo(DogSearchKey.of(DogSearchRequestDto.builder()
+            .from(25)
+            .build()));
+        assertThat(key).isNotEqualTo(DogSearchKey.of(DogSearchRequestDto.builder()
+            .size(10)
+            .build()));
+        assertThat(key).isNotEqualTo(DogSearchKey.of(DogSearchRequestDto.builder()
+            .sort("name:asc")
+            .build()));
+        assertThat(key).isNotEqualTo(DogSearchKey.of(DogSearchRequestDto.builder()
+            .cursor("")
+            .build()));
+    }
+
+    @Test
+    public void testKeysDifferByFilter() {
+        var key = DogSearchKey.of(DogSearchRequestDto.builder().ageMin(1).build());
+        assertThat(key).isNotEqualTo(DogSearchKey.of(DogSearchRequestDto.builder()
+            .ageMax(1)
+            .build()));
+        assertThat(key).isNotEqualTo(DogSearchKey.of(DogSearchRequestDto.builder()
+            .ageMin(1)
+            .breeds(List.of())
+            .build()));
+    }
+
+    @Test
+    public void testRadiusKeys() {
+        var key = DogSearchKey.of(DogSearchRequestDto.builder()
+            .distance(25.0)
+            .zip("10001")
+            .build());
+        assertThat(key.getFilter().zip()).isEqualTo("10001");
+        assertThat(key.getFilter().distance()).isEqualTo(25.0);
+        assertThat(key.getFilter().zipCodes()).isNull();
+        assertThat(key).isNotEqualTo(DogSearchKey.of(DogSearchRequestDto.builder()
+            .distance(50.0)
+            .zip("10001")
+            .build()));
+        assertThat(DogSearchKey.of(key.toRequest())).isEqualTo(key);
+    }
+
+    @Test
+    public void testToRequest() {
+        var key = DogSearchKey.of(DogSearchRequestDto.builder()
+            .ageMax(8)
+            .breeds(List.of("Pug", "Beagle"))
+            .cursor("")
+            .from(25)
+            .size(10)
+            .sort("name:desc")
+            .zipCodes(List.of("10001"))
+            .build());
+        var request = key.toRequest();
+        assertThat(request.getAgeMax()).isEqualTo(8);
+        assertThat(request.getAgeMin()).isNull();
+        assertThat(request.getBreeds()).containsExactly("Beagle", "Pug");
+        assertThat(request.getCursor()).isEmpty();
+        assertThat(DogSearchKey.of(request)).isEqualTo(key);
+    }
+}
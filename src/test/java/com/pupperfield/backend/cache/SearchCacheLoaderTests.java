@@ -0,0 +1,139 @@
+package com.pupperfield.backend.cache;
+
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.pupperfield.backend.config.CacheConfig;
+import com.pupperfield.backend.config.CacheProperties;
+import com.pupperfield.backend.model.DogSearchRequestDto;
+import com.pupperfield.backend.model.DogSearchResult;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.caffeine.CaffeineCache;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class SearchCacheLoaderTests {
+    private static final DogSearchKey KEY = DogSearchKey.of(new DogSearchRequestDto());
+    private static final DogSearchResult NEW = DogSearchResult.of(List.of("new"), 1);
+    private static final DogSearchResult OLD = DogSearchResult.of(List.of("old"), 1);
+
+    @Test
+    public void testReload() {
+        try (var loader = new SearchCacheLoader(key -> NEW, Executors.newSingleThreadExecutor())) {
+            assertThat(loader.asyncReload(KEY, OLD, Runnable::run).join()).isEqualTo(NEW);
+            assertThat(loader.getRefreshCount()).isEqualTo(1);
+            assertThat(loader.getRefreshFailureCount()).isZero();
+        }
+    }
+
+    @Test
+    public void testReloadWithNoDogs() {
+        try (var loader = new SearchCacheLoader(
+            key -> DogSearchResult.of(List.of(), 0), Executors.newSingleThreadExecutor())) {
+            assertThat(loader.asyncReload(KEY, OLD, Runnable::run).join()).isNull();
+            assertThat(loader.asyncLoad(KEY, Runnable::run).join()).isNull();
+        }
+    }
+
+    @Test
+    public void testReloadFailure() {
+        try (var loader = new SearchCacheLoader(key -> {
+            throw new IllegalStateException("database is gone");
+        }, Executors.newSingleThreadExecutor())) {
+            var reload = loader.asyncReload(KEY, OLD, Runnable::run);
+            assertThat(reload).failsWithin(Duration.ofSeconds(5));
+            assertThat(loader.getRefreshCount()).isEqualTo(1);
+            assertThat(loader.getRefreshFailureCount()).isEqualTo(1);
+        }
+    }
+
+    @Test
+    public void testReloadWhenBusy() throws InterruptedException {
+        var blocked = new CountDownLatch(1);
+        var executor = new ThreadPoolExecutor(
+            1, 1, 0, TimeUnit.MILLISECONDS, new ArrayBlockingQueue<>(1));
+        try (var loader = new SearchCacheLoader(key -> {
+            try {
+                blocked.await();
+            } catch (InterruptedException exception) {
+                Thread.currentThread().interrupt();
+            }
+            return NEW;
+        }, executor)) {
+            var running = loader.asyncReload(KEY, OLD, Runnable::run);
+            var queued = loader.asyncReload(KEY, OLD, Runnable::run);
+            var skipped = loader.asyncReload(KEY, OLD, Runnable::run);
+            assertThat(skipped.getNow(null)).isEqualTo(OLD);
+            assertThat(loader.getRefreshCount()).isEqualTo(3);
+            assertThat(loader.getRefreshFailureCount()).isEqualTo(1);
+
+            blocked.countDown();
+            assertThat(running.join()).isEqualTo(NEW);
+            assertThat(queued.join()).isEqualTo(NEW);
+            assertThat(loader.getRefreshFailureCount()).isEqualTo(1);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    @Test
+    public void testRefreshIsEnabledByDefault() {
+        var loader = new SearchCacheLoader(
+            key -> NEW, Executors.newSingleThreadExecutor());
+        var dogLoader = new DogCacheLoader(ids -> Map.of(), Executors.newSingleThreadExecutor());
+        var cacheManager = new CacheConfig().cacheManager(new CacheProperties(), dogLoader, loader);
+        var searches = ((CaffeineCache) cacheManager.getCache(CacheConfig.SEARCH_CACHE))
+            .getAsyncCache();
+        var dogs = (Cache<Object, Object>) cacheManager.getCache(CacheConfig.DOG_CACHE)
+            .getNativeCache();
+
+        try (loader; dogLoader) {
+            assertThat(searches.synchronous().policy().refreshAfterWrite().orElseThrow()
+                .getRefreshesAfter()).isEqualTo(Duration.ofMinutes(1));
+            assertThat(dogs.policy().refreshAfterWrite().orElseThrow().getRefreshesAfter())
+                .isEqualTo(Duration.ofMinutes(1));
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    @Test
+    public void testStaleSearchIsServedWhileRefreshing() throws InterruptedException {
+        var release = new CountDownLatch(1);
+        var loader = new SearchCacheLoader(key -> {
+            try {
+                release.await();
+            } catch (InterruptedException exception) {
+                Thread.currentThread().interrupt();
+            }
+            return NEW;
+        }, Executors.newSingleThreadExecutor());
+        var properties = new CacheProperties();
+        properties.getRefresh().setAfterWrite(Duration.ofMillis(1));
+        var cacheManager = new CacheConfig().cacheManager(properties,
+            new DogCacheLoader(ids -> Map.of(), Executors.newSingleThreadExecutor()), loader);
+        var searches = (AsyncCache<DogSearchKey, DogSearchResult>) (AsyncCache<?, ?>)
+            ((CaffeineCache) cacheManager.getCache(CacheConfig.SEARCH_CACHE)).getAsyncCache();
+
+        try (loader) {
+            searches.get(KEY, (key, executor) -> CompletableFuture.completedFuture(OLD)).join();
+            Thread.sleep(10);
+            assertThat(searches.getIfPresent(KEY).getNow(null)).isEqualTo(OLD);
+            assertThat(loader.getRefreshCount()).isEqualTo(1);
+
+            release.countDown();
+            var deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+            while (searches.getIfPresent(KEY).join() != NEW && System.nanoTime() < deadline) {
+                Thread.sleep(10);
+            }
+            assertThat(searches.getIfPresent(KEY).join()).isEqualTo(NEW);
+        }
+    }
+}
@@ -0,0 +1,123 @@
+package com.pupperfield.backend.config;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.core.io.ByteArrayResource;
+import org.springframework.core.io.FileSystemResource;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class DatabaseConfigTests {
+    @TempDir
+    private Path directory;
+
+    @Test
+    public void testDataSourceAppliesSqliteSettings() throws Exception {
+        var properties = copyDatabase();
+        var config = new DatabaseConfig();
+        try (var database = config.sqliteDatabase(properties);
+             var dataSource = config.dataSource(properties, database);
+             var connection = dataSource.getConnection();
+             var statement = connection.createStatement()) {
+            assertThat(pragma(statement, "cache_size")).isEqualTo("-16384");
+            assertThat(pragma(statement, "journal_mode")).isEqualToIgnoringCase("off");
+            assertThat(pragma(statement, "mmap_size")).isEqualTo("67108864");
+            assertThat(pragma(statement, "query_only")).isEqualTo("1");
+            assertThat(pragma(statement, "temp_store")).isEqualTo("2");
+            assertThrows(SQLException.class,
+                () -> statement.execute("DELETE FROM Dog WHERE id = ''"));
+        }
+    }
+
+    @Test
+    public void testDataSourceKeepsSqliteDefaults() throws Exception {
+        var properties = copyDatabase();
+        properties.getSqlite().setCacheSize(null);
+        properties.getSqlite().setJournalMode(null);
+        properties.getSqlite().setMmapSize(null);
+        properties.getSqlite().setQueryOnly(false);
+        properties.getSqlite().setTempStore(null);
+        var config = new DatabaseConfig();
+        try (var database = config.sqliteDatabase(properties);
+             var dataSource = config.dataSource(properties, database);
+             var connection = dataSource.getConnection();
+             var statement = connection.createStatement()) {
+            assertThat(pragma(statement, "cache_size")).isEqualTo("-2000");
+            assertThat(pragma(statement, "journal_mode")).isEqualToIgnoringCase("delete");
+            assertThat(pragma(statement, "query_only")).isEqualTo("0");
+            assertThat(pragma(statement, "temp_store")).isEqualTo("0");
+        }
+    }
+
+    @Test
+    public void testDataSourceRefusesDatabaseFileWithoutIndexes() throws Exception {
+        var properties = copyDatabase();
+        var file = Path.of(properties.getUrl().substring("jdbc:sqlite:".length()));
+        try (var connection = DriverManager.getConnection(properties.getUrl());
+             var statement = connection.createStatement()) {
+            statement.execute("DROP INDEX DogNameIndex");
+        }
+        var before = Files.readAllBytes(file);
+
+        assertThrows(IllegalStateException.class,
+            () -> new DatabaseConfig().sqliteDatabase(properties));
+        assertThat(Files.readAllBytes(file)).isEqualTo(before);
+    }
+
+    @Test
+    public void testDataSourceInMemory() throws Exception {
+        var properties = copyDatabase();
+        var file = Path.of(properties.getUrl().substring("jdbc:sqlite:".length()));
+        properties.setInMemory(true);
+        // A resource that is not a file, like an entry in a packaged jar
+        properties.setLocation(new ByteArrayResource(Files.readAllBytes(file)));
+        properties.setUrl("jdbc:sqlite:" + directory.resolve("missing.db"));
+
+        var config = new DatabaseConfig();
+        try (var database = config.sqliteDatabase(properties)) {
+            assertThat(database.getUrl()).contains("mode=memory", "cache=shared");
+            try (var dataSource = config.dataSource(properties, database);
+                 var connection = dataSource.getConnection();
+                 var statement = connection.createStatement()) {
+                try (var result = statement.executeQuery("SELECT COUNT(*) FROM Dog")) {
+                    result.next();
+                    assertThat(result.getInt(1)).isEqualTo(20580);
+                }
+                assertThat(DatabaseMigration.explain(connection,
+                    "SELECT id FROM Dog ORDER BY name, id")).contains("DogNameIndex");
+            }
+        }
+        assertThat(Files.exists(directory.resolve("missing.db"))).isFalse();
+    }
+
+    @Test
+    public void testDataSourceInMemoryWithMissingLocation() throws Exception {
+        var properties = copyDatabase();
+        properties.setInMemory(true);
+        properties.setLocation(new FileSystemResource(directory.resolve("missing.db")));
+        assertThrows(IllegalStateException.class,
+            () -> new DatabaseConfig().sqliteDatabase(properties));
+    }
+
+    private DatabaseProperties copyDatabase() throws Exception {
+        var database = directory.resolve("dogs.db");
+        Files.copy(Path.of("src/main/resources/database/dogs.db"), database);
+        var properties = new DatabaseProperties();
+        properties.setUrl("jdbc:sqlite:" + database);
+        return properties;
+    }
+
+    private static String pragma(Statement statement, String name) throws SQLException {
+        try (var result = statement.executeQuery("PRAGMA " + name)) {
+            result.next();
+            return result.getString(1);
+        }
+    }
+}
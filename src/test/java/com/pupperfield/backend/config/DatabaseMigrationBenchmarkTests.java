@@ -0,0 +1,103 @@
+package com.pupperfield.backend.config;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.junit.jupiter.api.io.TempDir;
+import org.sqlite.SQLiteDataSource;
+
+import javax.sql.DataSource;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Measures every sort and filter combination of /dogs/search with and without the indexes from
+ * {@link DatabaseMigration}. It only runs when asked for:
+ * {@code mvn test -Dtest=DatabaseMigrationBenchmarkTests -Dbenchmark=true}.
+ */
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+public class DatabaseMigrationBenchmarkTests {
+    private static final Map<String, String> FILTERS = new LinkedHashMap<>();
+    private static final int ITERATIONS = 50;
+    private static final List<String> SORTS = List.of(
+        "age ASC, id ASC", "age DESC, id DESC",
+        "breed ASC, id ASC", "breed DESC, id DESC",
+        "name ASC, id ASC", "name DESC, id DESC"
+    );
+
+    static {
+        FILTERS.put("none", "1 = 1");
+        FILTERS.put("age", "age >= 3 AND age <= 5");
+        FILTERS.put("breed", "breed IN ('Beagle', 'Pug', 'Shih-Tzu')");
+        FILTERS.put("breed+age", "breed IN ('Beagle', 'Pug', 'Shih-Tzu') AND age >= 3");
+        FILTERS.put("zipCode", "zip_code IN ('72080', '01053', '59634')");
+    }
+
+    @TempDir
+    private Path directory;
+
+    @Test
+    public void benchmarkIndexes() throws Exception {
+        var database = directory.resolve("dogs.db");
+        Files.copy(Path.of("src/main/resources/database/dogs.db"), database);
+        var dataSource = new SQLiteDataSource();
+        dataSource.setUrl("jdbc:sqlite:" + database);
+        try (var connection = dataSource.getConnection();
+             var statement = connection.createStatement()) {
+            for (var index : DatabaseMigration.INDEXES) {
+                statement.execute("DROP INDEX IF EXISTS " + index.name());
+            }
+        }
+
+        var before = measure(dataSource);
+        assertThat(new DatabaseMigration(dataSource).migrate()).isEmpty();
+        var after = measure(dataSource);
+
+        System.out.printf("%-10s %-20s %12s %12s %8s%n",
+            "filter", "sort", "before (µs)", "after (µs)", "speedup");
+        for (var row = 0; row < before.size(); row++) {
+            var label = before.get(row).label().split("\\|");
+            System.out.printf("%-10s %-20s %12d %12d %7.1fx%n",
+                label[0], label[1], before.get(row).micros(), after.get(row).micros(),
+                (double) before.get(row).micros() / Math.max(1, after.get(row).micros()));
+        }
+    }
+
+    private static List<Timing> measure(DataSource dataSource) throws SQLException {
+        var timings = new ArrayList<Timing>();
+        try (var connection = dataSource.getConnection();
+             var statement = connection.createStatement()) {
+            for (var filter : FILTERS.entrySet()) {
+                for (var sort : SORTS) {
+                    var page = "SELECT * FROM Dog WHERE %s ORDER BY %s LIMIT 25 OFFSET 100"
+                        .formatted(filter.getValue(), sort);
+                    var count = "SELECT COUNT(id) FROM Dog WHERE " + filter.getValue();
+                    long start = System.nanoTime();
+                    for (var iteration = 0; iteration < ITERATIONS; iteration++) {
+                        try (var result = statement.executeQuery(page)) {
+                            while (result.next()) {
+                                result.getString("id");
+                            }
+                        }
+                        try (var result = statement.executeQuery(count)) {
+                            result.next();
+                        }
+                    }
+                    timings.add(new Timing(filter.getKey() + "|" + sort,
+                        TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - start) / ITERATIONS));
+                }
+            }
+        }
+        return timings;
+    }
+
+    private record Timing(String label, long micros) {
+    }
+}
@@ -0,0 +1,97 @@
+package com.pupperfield.backend.config;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.sqlite.SQLiteDataSource;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.SQLException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalStateException;
+
+public class DatabaseMigrationTests {
+    @TempDir
+    private Path directory;
+
+    private SQLiteDataSource dataSource;
+
+    @BeforeEach
+    public void setUp() throws Exception {
+        var database = directory.resolve("dogs.db");
+        Files.copy(Path.of("src/main/resources/database/dogs.db"), database);
+        dataSource = new SQLiteDataSource();
+        dataSource.setUrl("jdbc:sqlite:" + database);
+        try (var connection = dataSource.getConnection();
+             var statement = connection.createStatement()) {
+            for (var index : DatabaseMigration.INDEXES) {
+                statement.execute("DROP INDEX IF EXISTS " + index.name());
+            }
+        }
+    }
+
+    @Test
+    public void testMigrateCreatesIndexes() throws SQLException {
+        assertThat(new DatabaseMigration(dataSource).migrate()).isEmpty();
+        try (var connection = dataSource.getConnection();
+             var statement = connection.createStatement();
+             var result = statement.executeQuery(
+                 "SELECT COUNT(*) FROM sqlite_master WHERE type = 'index' AND name LIKE 'Dog%Index'"
+             )) {
+            assertThat(result.next()).isTrue();
+            assertThat(result.getInt(1)).isEqualTo(DatabaseMigration.INDEXES.size());
+        }
+    }
+
+    @Test
+    public void testCheckRefusesMissingIndexes() throws SQLException {
+        assertThatIllegalStateException()
+            .isThrownBy(() -> new DatabaseMigration(dataSource).check())
+            .withMessageContaining("DogAgeIndex");
+        try (var connection = dataSource.getConnection();
+             var statement = connection.createStatement();
+             var result = statement.executeQuery(
+                 "SELECT COUNT(*) FROM sqlite_master WHERE type = 'index' AND name LIKE 'Dog%Index'"
+             )) {
+            assertThat(result.next()).isTrue();
+            assertThat(result.getInt(1)).isZero();
+        }
+    }
+
+    @Test
+    public void testCheckPassesOnPopulatedDatabase() {
+        var populated = new SQLiteDataSource();
+        populated.setUrl("jdbc:sqlite:src/main/resources/database/dogs.db");
+        assertThat(new DatabaseMigration(populated).check()).isEmpty();
+    }
+
+    @Test
+    public void testMigrateIsIdempotent() {
+        var migration = new DatabaseMigration(dataSource);
+        assertThat(migration.migrate()).isEmpty();
+        assertThat(migration.migrate()).isEmpty();
+    }
+
+    @Test
+    public void testSearchesUseIndexes() throws SQLException {
+        new DatabaseMigration(dataSource).migrate();
+        try (var connection = dataSource.getConnection()) {
+            assertThat(DatabaseMigration.explain(connection,
+                "SELECT id FROM Dog WHERE breed IN ('Pug', 'Beagle') ORDER BY breed, id"))
+                .contains("COVERING INDEX DogBreedIndex")
+                .doesNotContain("TEMP B-TREE");
+            assertThat(DatabaseMigration.explain(connection,
+                "SELECT id FROM Dog ORDER BY name DESC, id DESC LIMIT 25 OFFSET 10000"))
+                .contains("COVERING INDEX DogNameIndex")
+                .doesNotContain("TEMP B-TREE");
+            assertThat(DatabaseMigration.explain(connection,
+                "SELECT COUNT(id) FROM Dog WHERE age >= 3 AND age <= 5"))
+                .contains("INDEX DogAgeIndex");
+            assertThat(DatabaseMigration.explain(connection,
+                "SELECT * FROM Dog WHERE zip_code IN ('72080', '01053') ORDER BY age, id"))
+                .contains("INDEX DogZipCodeIndex");
+        }
+    }
+}
@@ -0,0 +1,102 @@
+package com.pupperfield.backend.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.core.io.FileSystemResource;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the SQLite defaults, the settings under {@code pupperfield.datasource.sqlite} and an
+ * in-memory copy of the database on the queries behind searchDogs and listDogs. It only runs
+ * when asked for: {@code mvn test -Dtest=DatabaseSettingsBenchmarkTests -Dbenchmark=true}.
+ */
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+public class DatabaseSettingsBenchmarkTests {
+    private static final int ITERATIONS = 200;
+    private static final Map<String, String> QUERIES = new LinkedHashMap<>();
+
+    static {
+        QUERIES.put("searchDogs default page",
+            "SELECT id FROM Dog ORDER BY breed, id LIMIT 25");
+        QUERIES.put("searchDogs deep page",
+            "SELECT id FROM Dog ORDER BY name DESC, id DESC LIMIT 25 OFFSET 15000");
+        QUERIES.put("searchDogs large page",
+            "SELECT id FROM Dog WHERE age >= 2 ORDER BY age, id LIMIT 10000");
+        QUERIES.put("searchDogs unindexed sort",
+            "SELECT id FROM Dog WHERE zip_code >= '5' ORDER BY name, id LIMIT 25");
+        QUERIES.put("searchDogs count",
+            "SELECT COUNT(id) FROM Dog WHERE breed IN ('Beagle', 'Pug') AND age <= 8");
+        QUERIES.put("listDogs 100 IDs",
+            "SELECT * FROM Dog WHERE id IN (SELECT id FROM Dog ORDER BY zip_code LIMIT 100)");
+    }
+
+    @TempDir
+    private Path directory;
+
+    @Test
+    public void benchmarkSettings() throws Exception {
+        var database = directory.resolve("dogs.db");
+        Files.copy(Path.of("src/main/resources/database/dogs.db"), database);
+
+        var defaults = new DatabaseProperties();
+        defaults.setUrl("jdbc:sqlite:" + database);
+        defaults.getSqlite().setCacheSize(null);
+        defaults.getSqlite().setJournalMode(null);
+        defaults.getSqlite().setMmapSize(null);
+        defaults.getSqlite().setQueryOnly(false);
+        defaults.getSqlite().setTempStore(null);
+        var tuned = new DatabaseProperties();
+        tuned.setUrl("jdbc:sqlite:" + database);
+        var memory = new DatabaseProperties();
+        memory.setInMemory(true);
+        memory.setLocation(new FileSystemResource(database));
+
+        Map<String, Long> before = measure(defaults), after = measure(tuned),
+            inMemory = measure(memory);
+        System.out.printf("%-28s %12s %12s %12s%n", "query", "default (µs)", "tuned (µs)",
+            "memory (µs)");
+        for (var query : QUERIES.keySet()) {
+            System.out.printf("%-28s %12d %12d %12d%n", query, before.get(query),
+                after.get(query), inMemory.get(query));
+        }
+    }
+
+    private static Map<String, Long> measure(DatabaseProperties properties) throws Exception {
+        var config = new DatabaseConfig();
+        try (var database = config.sqliteDatabase(properties);
+             var dataSource = config.dataSource(properties, database)) {
+            return measure(dataSource);
+        }
+    }
+
+    private static Map<String, Long> measure(HikariDataSource dataSource) throws SQLException {
+        var timings = new LinkedHashMap<String, Long>();
+        for (var query : QUERIES.entrySet()) {
+            var ids = new ArrayList<String>();
+            long start = System.nanoTime();
+            for (var iteration = 0; iteration < ITERATIONS; iteration++) {
+                // Borrow a connection per query like a request does
+                try (var connection = dataSource.getConnection();
+                     var statement = connection.prepareStatement(query.getValue());
+                     var result = statement.executeQuery()) {
+                    ids.clear();
+                    while (result.next()) {
+                        ids.add(result.getString(1));
+                    }
+                }
+            }
+            timings.put(query.getKey(),
+                TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - start) / ITERATIONS);
+        }
+        return timings;
+    }
+}
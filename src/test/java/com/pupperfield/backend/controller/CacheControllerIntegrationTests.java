@@ -0,0 +1,54 @@
+package com.pupperfield.backend.controller;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.webmvc.test.autoconfigure.AutoConfigureMockMvc;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static com.pupperfield.backend.auth.AuthRequestBuilder.getAuthCookie;
+import static com.pupperfield.backend.constant.CacheConstants.CACHES_PATH;
+import static com.pupperfield.backend.constant.CacheConstants.STATS_TOKEN_HEADER;
+import static com.pupperfield.backend.constant.DogConstants.DOG_BREEDS_PATH;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.greaterThanOrEqualTo;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@AutoConfigureMockMvc
+@SpringBootTest(properties = "pupperfield.cache.stats-token=test-stats-token")
+public class CacheControllerIntegrationTests {
+    private static final String TEST_EMAIL = "cache.controller@email.com";
+    private static final String TEST_NAME = "CacheController";
+    private static final String TOKEN = "test-stats-token";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Test
+    public void testGetStats() throws Exception {
+        var cookies = getAuthCookie(mockMvc, TEST_EMAIL, TEST_NAME);
+        mockMvc.perform(get(DOG_BREEDS_PATH).cookie(cookies)).andExpect(status().isOk());
+        mockMvc.perform(get(CACHES_PATH).cookie(cookies).header(STATS_TOKEN_HEADER, TOKEN))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$[*].name")
+                .value(contains("breeds", "dogs", "facets", "idLists", "searches", "totals")))
+            .andExpect(jsonPath("$[0].hitCount").value(greaterThanOrEqualTo(1)))
+            .andExpect(jsonPath("$[0].maximumWeight").value(64 * 1024));
+    }
+
+    @Test
+    public void testGetStatsWithoutLogin() throws Exception {
+        mockMvc.perform(get(CACHES_PATH).header(STATS_TOKEN_HEADER, TOKEN))
+            .andExpect(status().isUnauthorized());
+    }
+
+    @Test
+    public void testGetStatsWithoutToken() throws Exception {
+        var cookies = getAuthCookie(mockMvc, TEST_EMAIL, TEST_NAME);
+        mockMvc.perform(get(CACHES_PATH).cookie(cookies)).andExpect(status().isForbidden());
+        mockMvc.perform(get(CACHES_PATH).cookie(cookies).header(STATS_TOKEN_HEADER, "wrong"))
+            .andExpect(status().isForbidden());
+    }
+}
@@ -0,0 +1,66 @@
+package com.pupperfield.backend.controller;
+
+import com.pupperfield.backend.config.CacheProperties;
+import com.pupperfield.backend.model.CacheStatsDto;
+import com.pupperfield.backend.service.CacheStatsService;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+public class CacheControllerTests {
+    private static final String TOKEN = "test-stats-token";
+
+    @Spy
+    private CacheProperties cacheProperties = new CacheProperties();
+
+    @Mock
+    private CacheStatsService cacheStatsService;
+
+    @InjectMocks
+    private CacheController cacheController;
+
+    @Test
+    public void testGetStats() {
+        cacheProperties.setStatsToken(TOKEN);
+        var stats = List.of(CacheStatsDto.builder().name("breeds").hitCount(1).build());
+        given(cacheStatsService.getStats()).willReturn(stats);
+        assertThat(cacheController.getStats(TOKEN)).isEqualTo(stats);
+        verify(cacheStatsService, times(1)).getStats();
+    }
+
+    @Test
+    public void testGetStatsWithWrongToken() {
+        cacheProperties.setStatsToken(TOKEN);
+        for (var token : new String[] {null, "", "wrong-token"}) {
+            assertThatExceptionOfType(ResponseStatusException.class)
+                .isThrownBy(() -> cacheController.getStats(token))
+                .satisfies(exception ->
+                    assertThat(exception.getStatusCode()).isEqualTo(HttpStatus.FORBIDDEN));
+        }
+        verify(cacheStatsService, never()).getStats();
+    }
+
+    @Test
+    public void testGetStatsWithoutConfiguredToken() {
+        for (var token : new String[] {null, ""}) {
+            assertThatExceptionOfType(ResponseStatusException.class)
+                .isThrownBy(() -> cacheController.getStats(token));
+        }
+        verify(cacheStatsService, never()).getStats();
+    }
+}
@@ -1,7 +1,10 @@
 package com.pupperfield.backend.controller;
 
 import com.pupperfield.backend.model.DogDto;
+import com.pupperfield.backend.model.DogFacetsDto;
+import com.pupperfield.backend.model.DogNameSuggestionDto;
 import com.pupperfield.backend.model.DogSearchResponseDto;
+import com.pupperfield.backend.service.DogService;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.CsvSource;
@@ -9,17 +12,27 @@ import org.junit.jupiter.params.provider.ValueSource;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.webmvc.test.autoconfigure.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.mock.http.MockHttpOutputMessage;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.web.servlet.mvc.method.annotation.RequestMappingHandlerAdapter;
 import tools.jackson.core.type.TypeReference;
 import tools.jackson.databind.json.JsonMapper;
 
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 
 import static com.pupperfield.backend.auth.AuthRequestBuilder.getAuthCookie;
 import static com.pupperfield.backend.constant.DogConstants.DOGS_PATH;
 import static com.pupperfield.backend.constant.DogConstants.DOG_BREEDS_PATH;
+import static com.pupperfield.backend.constant.DogConstants.DOG_FACETS_PATH;
 import static com.pupperfield.backend.constant.DogConstants.DOG_MATCH_PATH;
+import static com.pupperfield.backend.constant.DogConstants.DOG_NAME_SUGGEST_PATH;
+import static com.pupperfield.backend.constant.DogConstants.DOG_SEARCH_BATCH_PATH;
 import static com.pupperfield.backend.constant.DogConstants.DOG_SEARCH_PATH;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.hamcrest.Matchers.equalTo;
@@ -44,6 +57,12 @@ public class DogControllerIntegrationTests {
     @Autowired
     private MockMvc mockMvc;
 
+    @Autowired
+    private DogService dogService;
+
+    @Autowired
+    private RequestMappingHandlerAdapter handlerAdapter;
+
     @Autowired
     private JsonMapper jsonMapper;
 
@@ -60,6 +79,112 @@ public class DogControllerIntegrationTests {
         }
     }
 
+    @Test
+    public void testGetBreedsNotModified() throws Exception {
+        var cookies = getAuthCookie(mockMvc, TEST_EMAIL, TEST_NAME);
+        var etag = mockMvc.perform(get(DOG_BREEDS_PATH).cookie(cookies))
+            .andExpect(status().isOk())
+            .andReturn()
+            .getResponse()
+            .getHeader(HttpHeaders.ETAG);
+        assertThat(etag).matches("\"[0-9a-f]{32}\"");
+
+        for (var path : List.of(DOG_BREEDS_PATH, DOG_SEARCH_PATH + "?breeds=Pug&size=5")) {
+            var response = mockMvc.perform(get(path)
+                    .cookie(cookies)
+                    .header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified())
+                .andReturn()
+                .getResponse();
+            assertThat(response.getContentLength()).isZero();
+            assertThat(response.getContentAsByteArray()).isEmpty();
+            assertThat(response.getHeader(HttpHeaders.ETAG)).isEqualTo(etag);
+        }
+        mockMvc.perform(get(DOG_SEARCH_PATH)
+                .cookie(cookies)
+                .header(HttpHeaders.IF_NONE_MATCH, "\"stale\""))
+            .andExpect(status().isOk());
+    }
+
+    @Test
+    public void testSearchWithInvalidQueryIsNeverNotModified() throws Exception {
+        var cookies = getAuthCookie(mockMvc, TEST_EMAIL, TEST_NAME);
+        var etag = mockMvc.perform(get(DOG_BREEDS_PATH).cookie(cookies))
+            .andReturn()
+            .getResponse()
+            .getHeader(HttpHeaders.ETAG);
+
+        var response = mockMvc.perform(get(DOG_SEARCH_PATH + "?size=-1")
+                .cookie(cookies)
+                .header(HttpHeaders.IF_NONE_MATCH, etag))
+            .andExpect(status().isUnprocessableContent())
+            .andReturn()
+            .getResponse();
+        assertThat(response.getHeader(HttpHeaders.ETAG)).isNull();
+        assertThat(response.getHeader(HttpHeaders.CACHE_CONTROL)).isNull();
+    }
+
+    @Test
+    public void testGetFacets() throws Exception {
+        var cookie = getAuthCookie(mockMvc, TEST_EMAIL, TEST_NAME);
+        var response = mockMvc.perform(
+            get(DOG_FACETS_PATH + "?ageMin=2&breeds=Pug,Beagle&size=1").cookie(cookie)
+        ).andReturn().getResponse();
+        assertThat(response.getStatus()).isEqualTo(HttpStatus.OK.value());
+        var facets = jsonMapper.readValue(response.getContentAsString(), DogFacetsDto.class);
+        assertThat(facets.getBreeds()).containsOnlyKeys("Beagle", "Pug");
+        assertThat(facets.getAges().keySet()).allSatisfy(age -> assertThat(age).isGreaterThan(1));
+
+        var pugs = jsonMapper.readValue(mockMvc.perform(
+            get(DOG_SEARCH_PATH + "?ageMin=2&breeds=Pug&size=1").cookie(cookie)
+        ).andReturn().getResponse().getContentAsString(), DogSearchResponseDto.class);
+        assertThat(facets.getBreeds().get("Pug")).isEqualTo(pugs.getTotal());
+        assertThat(facets.getTotal()).isEqualTo(
+            facets.getBreeds().values().stream().mapToLong(Long::longValue).sum());
+    }
+
+    @Test
+    public void testGetFacetsWithInvalidFilter() throws Exception {
+        var request = get(DOG_FACETS_PATH + "?ageMin=-1")
+            .cookie(getAuthCookie(mockMvc, TEST_EMAIL, TEST_NAME));
+        mockMvc.perform(request).andExpect(status().isUnprocessableContent());
+    }
+
+    @Test
+    public void testSuggestNames() throws Exception {
+        var cookie = getAuthCookie(mockMvc, TEST_EMAIL, TEST_NAME);
+        var response = mockMvc.perform(
+            get(DOG_NAME_SUGGEST_PATH + "?prefix=be&size=5").cookie(cookie)
+        ).andReturn().getResponse();
+        assertThat(response.getStatus()).isEqualTo(HttpStatus.OK.value());
+        var suggestions = List.of(jsonMapper.readValue(
+            response.getContentAsString(), DogNameSuggestionDto[].class));
+        assertThat(suggestions).isNotEmpty().hasSizeLessThanOrEqualTo(5);
+        assertThat(suggestions).allSatisfy(suggestion -> {
+            assertThat(suggestion.getName()).startsWithIgnoringCase("be");
+            assertThat(suggestion.getCount()).isPositive();
+        });
+
+        var pugs = List.of(jsonMapper.readValue(mockMvc.perform(
+            get(DOG_NAME_SUGGEST_PATH + "?prefix=be&breeds=Pug").cookie(cookie)
+        ).andReturn().getResponse().getContentAsString(), DogNameSuggestionDto[].class));
+        assertThat(pugs).hasSizeLessThanOrEqualTo(10).allSatisfy(suggestion ->
+            assertThat(suggestion.getName()).startsWithIgnoringCase("be"));
+    }
+
+    @Test
+    public void testSuggestNamesWithInvalidParameters() throws Exception {
+        var cookie = getAuthCookie(mockMvc, TEST_EMAIL, TEST_NAME);
+        mockMvc.perform(get(DOG_NAME_SUGGEST_PATH + "?prefix={prefix}", " ").cookie(cookie))
+            .andExpect(status().isUnprocessableContent());
+        mockMvc.perform(get(DOG_NAME_SUGGEST_PATH).cookie(cookie))
+            .andExpect(status().isUnprocessableContent());
+        mockMvc.perform(get(DOG_NAME_SUGGEST_PATH + "?prefix=be&size=0").cookie(cookie))
+            .andExpect(status().isUnprocessableContent());
+        mockMvc.perform(get(DOG_NAME_SUGGEST_PATH + "?prefix=be&size=51").cookie(cookie))
+            .andExpect(status().isUnprocessableContent());
+    }
+
     @Test
     public void testList() throws Exception {
         var idList = List.of(
@@ -91,6 +216,37 @@ public class DogControllerIntegrationTests {
         }
     }
 
+    @Test
+    public void testListMatchesSerializedDogs() throws Exception {
+        var idList = List.of(
+            "zsD-OZUBBPFf4ZNZzDCC",
+            "qcD-OZUBBPFf4ZNZzDCC",
+            "nonexistent",
+            "18D-OZUBBPFf4ZNZzDCC",
+            "qcD-OZUBBPFf4ZNZzDCC"
+        );
+        var request = post(DOGS_PATH)
+            .contentType("application/json")
+            .content(jsonMapper.writeValueAsString(idList))
+            .cookie(getAuthCookie(mockMvc, TEST_EMAIL, TEST_NAME));
+        var response = mockMvc.perform(request).andReturn().getResponse();
+
+        var dogs = dogService.listDogs(idList);
+        var converted = new MockHttpOutputMessage();
+        @SuppressWarnings("unchecked")
+        var converter = (HttpMessageConverter<Object>) handlerAdapter.getMessageConverters()
+            .stream()
+            .filter(candidate -> candidate.canWrite(dogs.getClass(), MediaType.APPLICATION_JSON))
+            .findFirst()
+            .orElseThrow();
+        converter.write(dogs, MediaType.APPLICATION_JSON, converted);
+
+        assertThat(response.getStatus()).isEqualTo(HttpStatus.OK.value());
+        assertThat(response.getContentType())
+            .isEqualTo(converted.getHeaders().getContentType().toString());
+        assertThat(response.getContentAsByteArray()).isEqualTo(converted.getBodyAsBytes());
+    }
+
     @Test
     public void testListWith1Id() throws Exception {
         var request = post(DOGS_PATH)
@@ -395,6 +551,146 @@ public class DogControllerIntegrationTests {
         assertTrue(result.getTotal() < 1000);
     }
 
+    @Test
+    public void testSearchIncludingDogs() throws Exception {
+        var request = get(DOG_SEARCH_PATH + "?breeds=Pug&include=dogs&size=10&sort=age:desc")
+            .cookie(getAuthCookie(mockMvc, TEST_EMAIL, TEST_NAME));
+        var response = mockMvc.perform(request).andReturn().getResponse();
+        var result = jsonMapper.readValue(
+            response.getContentAsString(), DogSearchResponseDto.class);
+
+        assertThat(response.getStatus()).isEqualTo(HttpStatus.OK.value());
+        assertThat(result.getResultIds()).hasSize(10);
+        assertThat(result.getDogs()).extracting(DogDto::getId)
+            .isEqualTo(result.getResultIds());
+        assertThat(result.getDogs()).extracting(DogDto::getBreed).containsOnly("Pug");
+        assertThat(result.getDogs()).isEqualTo(dogService.listDogs(result.getResultIds()));
+        assertThat(result.getNext()).contains("include=dogs");
+    }
+
+    @Test
+    public void testSearchIncludingSomethingElse() throws Exception {
+        var request = get(DOG_SEARCH_PATH + "?include=owners")
+            .cookie(getAuthCookie(mockMvc, TEST_EMAIL, TEST_NAME));
+        mockMvc.perform(request)
+            .andExpect(status().isUnprocessableContent())
+            .andExpect(jsonPath("$.details[0]").value("include must be dogs"));
+    }
+
+    @Test
+    public void testSearchIncludingTooManyDogs() throws Exception {
+        var cookie = getAuthCookie(mockMvc, TEST_EMAIL, TEST_NAME);
+        mockMvc.perform(get(DOG_SEARCH_PATH + "?include=dogs&size=101").cookie(cookie))
+            .andExpect(status().isUnprocessableContent())
+            .andExpect(jsonPath("$.details[0]")
+                .value("size must be at most 100 with include=dogs"));
+        mockMvc.perform(get(DOG_SEARCH_PATH + "?include=dogs&size=100").cookie(cookie))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.dogs.length()").value(100));
+    }
+
+    @Test
+    public void testSearchWithRadius() throws Exception {
+        var cookie = getAuthCookie(mockMvc, TEST_EMAIL, TEST_NAME);
+        var radius = jsonMapper.readValue(mockMvc.perform(
+            get(DOG_SEARCH_PATH + "?distance=25&zip=72081").cookie(cookie)
+        ).andReturn().getResponse().getContentAsString(), DogSearchResponseDto.class);
+        var exact = jsonMapper.readValue(mockMvc.perform(
+            get(DOG_SEARCH_PATH + "?zipCodes=72081,72082").cookie(cookie)
+        ).andReturn().getResponse().getContentAsString(), DogSearchResponseDto.class);
+
+        assertThat(radius.getResultIds()).isEqualTo(exact.getResultIds());
+        assertThat(radius.getTotal()).isEqualTo(exact.getTotal()).isEqualTo(2);
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {
+        "zip=72080", "distance=10", "distance=10&zip=72080&zipCodes=72080", "distance=0&zip=72080",
+        "distance=101&zip=72080", "distance=10&zip="
+    })
+    public void testSearchWithInvalidRadius(String query) throws Exception {
+        var request = get(DOG_SEARCH_PATH + "?" + query)
+            .cookie(getAuthCookie(mockMvc, TEST_EMAIL, TEST_NAME));
+        mockMvc.perform(request).andExpect(status().isUnprocessableContent());
+    }
+
+    @Test
+    public void testSearchInBatch() throws Exception {
+        var cookie = getAuthCookie(mockMvc, TEST_EMAIL, TEST_NAME);
+        var request = post(DOG_SEARCH_BATCH_PATH)
+            .contentType("application/json")
+            .content("[{\"breeds\":[\"Pug\"],\"from\":5,\"size\":5},"
+                + "{\"ageMin\":10,\"cursor\":\"\",\"sort\":\"age:asc\"},"
+                + "{\"breeds\":[\"Pug\"],\"from\":5,\"size\":5}]")
+            .cookie(cookie);
+        var response = mockMvc.perform(request).andReturn().getResponse();
+        assertThat(response.getStatus()).isEqualTo(HttpStatus.OK.value());
+        var results = jsonMapper.readValue(
+            response.getContentAsString(), new TypeReference<List<DogSearchResponseDto>>() {});
+        assertThat(results).hasSize(3);
+        assertThat(results.getLast()).isEqualTo(results.getFirst());
+
+        var single = jsonMapper.readValue(mockMvc.perform(
+            get(DOG_SEARCH_PATH + "?breeds=Pug&from=5&size=5").cookie(cookie)
+        ).andReturn().getResponse().getContentAsString(), DogSearchResponseDto.class);
+        assertThat(results.getFirst().getResultIds()).isEqualTo(single.getResultIds());
+        assertThat(results.getFirst().getTotal()).isEqualTo(single.getTotal());
+        assertThat(results.getFirst().getNext()).isEqualTo(
+            DOG_SEARCH_PATH + "?breeds=Pug&from=10&size=5&sort=breed%3Aasc");
+        assertThat(results.getFirst().getPrevious()).isEqualTo(
+            DOG_SEARCH_PATH + "?breeds=Pug&from=0&size=5&sort=breed%3Aasc");
+        assertThat(results.get(1).getNext()).contains("cursor=");
+        assertThat(results.get(1).getResultIds()).hasSize(25);
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {
+        "[]", "[{\"size\":0}]", "[{\"sort\":\"id:asc\"}]", "[null]",
+        "[{\"size\":600},{\"size\":401}]"
+    })
+    public void testSearchInBatchWithInvalidSearches(String content) throws Exception {
+        var request = post(DOG_SEARCH_BATCH_PATH)
+            .contentType("application/json")
+            .content(content)
+            .cookie(getAuthCookie(mockMvc, TEST_EMAIL, TEST_NAME));
+        mockMvc.perform(request).andExpect(status().isUnprocessableContent());
+    }
+
+    @Test
+    public void testSearchInBatchWithTooManySearches() throws Exception {
+        var request = post(DOG_SEARCH_BATCH_PATH)
+            .contentType("application/json")
+            .content("[%s]".formatted(String.join(",", Collections.nCopies(26, "{}"))))
+            .cookie(getAuthCookie(mockMvc, TEST_EMAIL, TEST_NAME));
+        mockMvc.perform(request).andExpect(status().isUnprocessableContent());
+    }
+
+    @Test
+    public void testSearchStreamsLargePages() throws Exception {
+        var request = get(DOG_SEARCH_PATH + "?from=500&size=3000&sort=name:desc")
+            .cookie(getAuthCookie(mockMvc, TEST_EMAIL, TEST_NAME));
+        var response = mockMvc.perform(request).andReturn().getResponse();
+        var result = jsonMapper.readValue(
+            response.getContentAsString(), DogSearchResponseDto.class);
+
+        assertEquals(HttpStatus.OK.value(), response.getStatus());
+        assertThat(response.getContentType()).startsWith("application/json");
+        assertEquals("/dogs/search?from=3500&size=3000&sort=name:desc", result.getNext());
+        assertNull(result.getPrevious());
+        assertEquals(3000, result.getResultIds().size());
+
+        var pages = new ArrayList<String>();
+        for (var from = 500; from < 3500; from += 1000) {
+            var page = jsonMapper.readValue(mockMvc.perform(
+                get(DOG_SEARCH_PATH + "?from={from}&size=1000&sort=name:desc", from)
+                    .cookie(getAuthCookie(mockMvc, TEST_EMAIL, TEST_NAME))
+            ).andReturn().getResponse().getContentAsString(), DogSearchResponseDto.class);
+            assertEquals(result.getTotal(), page.getTotal());
+            pages.addAll(page.getResultIds());
+        }
+        assertEquals(pages, result.getResultIds());
+    }
+
     @Test
     public void testSearchPagingOffset1() throws Exception {
         var request = get(DOG_SEARCH_PATH + "?size=11")
@@ -1,46 +1,133 @@
 package com.pupperfield.backend.controller;
 
+import com.pupperfield.backend.config.ETagProperties;
+import com.pupperfield.backend.config.ZipCodeProperties;
 import com.pupperfield.backend.model.DogDto;
+import com.pupperfield.backend.model.DogFacetsDto;
+import com.pupperfield.backend.model.DogNameSuggestionDto;
 import com.pupperfield.backend.model.DogSearchRequestDto;
+import com.pupperfield.backend.model.DogSearchResponseDto;
+import com.pupperfield.backend.model.DogSearchResult;
+import com.pupperfield.backend.service.DatasetETagService;
+import com.pupperfield.backend.service.DatasetVersionService;
+import com.pupperfield.backend.service.DogFacetService;
+import com.pupperfield.backend.service.DogNameService;
 import com.pupperfield.backend.service.DogService;
+import com.pupperfield.backend.service.ZipCodeService;
 import jakarta.servlet.http.HttpServletRequest;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
-import org.springframework.data.util.Pair;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.json.JacksonJsonHttpMessageConverter;
+import org.springframework.mock.http.MockHttpOutputMessage;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import tools.jackson.databind.json.JsonMapper;
 
+import java.io.IOException;
 import java.security.SecureRandom;
 import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.function.BiConsumer;
+import java.util.stream.Stream;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.BDDMockito.given;
+import static org.mockito.BDDMockito.willAnswer;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
 
 @ExtendWith(MockitoExtension.class)
 public class DogControllerTests {
     @InjectMocks
     private DogController dogController;
 
+    @Mock
+    private DogFacetService dogFacetService;
+
+    @Mock
+    private DogNameService dogNameService;
+
     @Mock
     private DogService dogService;
 
+    private final DatasetVersionService datasetVersionService = mock(DatasetVersionService.class);
+
+    @Spy
+    private DatasetETagService datasetETagService =
+        new DatasetETagService(datasetVersionService, new ETagProperties());
+
+    @Spy
+    private JsonMapper jsonMapper = new JsonMapper();
+
+    @Spy
+    private ZipCodeService zipCodeService = new ZipCodeService(new ZipCodeProperties());
+
+    @BeforeEach
+    public void setUp() {
+        given(datasetVersionService.getVersion()).willReturn("v1");
+    }
+
     @Test
     public void testGetBreeds() {
         given(dogService.getBreeds()).willReturn(List.of("Breed1", "Breed2", "Breed3"));
-        var breeds = dogController.getBreeds();
+        var response = dogController.getBreeds(new MockHttpServletRequest());
+        var breeds = response.getBody();
 
         verify(dogService, times(1)).getBreeds();
+        assertThat(response.getHeaders().getETag()).isEqualTo("\"v1\"");
         assertThat(breeds).isNotEmpty();
         breeds.forEach(breed -> assertThat(breed).isNotEmpty());
     }
 
     @Test
-    public void testList() {
+    public void testGetBreedsNotModified() {
+        var request = new MockHttpServletRequest();
+        request.addHeader(HttpHeaders.IF_NONE_MATCH, "\"v0\", W/\"v1\"");
+        var response = dogController.getBreeds(request);
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.NOT_MODIFIED);
+        assertThat(response.getHeaders().getETag()).isEqualTo("\"v1\"");
+        assertThat(response.getBody()).isNull();
+        verifyNoInteractions(dogService);
+    }
+
+    @Test
+    public void testGetFacets() {
+        var parameters = DogSearchRequestDto.builder().breeds(List.of("Pug")).build();
+        var facets = new DogFacetsDto(
+            new TreeMap<>(Map.of(3, 2L)), new TreeMap<>(Map.of("Pug", 2L)), 2,
+            new TreeMap<>(Map.of("10001", 2L)));
+        given(dogFacetService.getFacets(parameters)).willReturn(facets);
+        assertThat(dogController.getFacets(parameters, new MockHttpServletRequest()).getBody())
+            .isSameAs(facets);
+    }
+
+    @Test
+    public void testSuggestNames() {
+        var suggestions = List.of(new DogNameSuggestionDto(2, "Bella"));
+        given(dogNameService.suggest("Be", List.of("Pug"), 5)).willReturn(suggestions);
+        assertThat(dogController.suggestNames(
+            " Be ", List.of("Pug"), 5, new MockHttpServletRequest()).getBody())
+            .isSameAs(suggestions);
+    }
+
+    @Test
+    public void testList() throws IOException {
         var idList = List.of(
             "CcD-OZUBBPFf4ZNZzCh7",
             "zsD-OZUBBPFf4ZNZzCd7",
@@ -53,13 +140,34 @@ public class DogControllerTests {
             "0MD-OZUBBPFf4ZNZzCd7",
             "9MD-OZUBBPFf4ZNZzCd7"
         );
-        given(dogService.listDogs(idList)).willReturn(idList.stream()
-            .map(id -> DogDto.builder().id(id).build())
-            .toList());
-        var dogs = dogController.list(idList);
-        verify(dogService, times(1)).listDogs(idList);
-        assertThat(dogs).isNotEmpty();
-        dogs.forEach(dog -> assertThat(dog).isNotNull());
+        var dogs = idList.stream()
+            .map(id -> DogDto.builder().age(3).breed("Pug").id(id).name("Emory").build())
+            .toList();
+        var json = dogs.stream().map(jsonMapper::writeValueAsBytes).toList();
+        given(dogService.listDogsAsJson(idList)).willReturn(json);
+        var response = new MockHttpServletResponse();
+        var converted = new MockHttpOutputMessage();
+        new JacksonJsonHttpMessageConverter(jsonMapper)
+            .write(dogs, MediaType.APPLICATION_JSON, converted);
+
+        dogController.list(idList, response);
+        verify(dogService, times(1)).listDogsAsJson(idList);
+        verify(dogService, never()).listDogs(any());
+        assertThat(response.getContentType())
+            .isEqualTo(converted.getHeaders().getContentType().toString());
+        assertThat(response.getContentAsByteArray())
+            .isEqualTo(converted.getBodyAsBytes())
+            .hasSize(response.getContentLength());
+    }
+
+    @Test
+    public void testListWithNoDogs() throws IOException {
+        given(dogService.listDogsAsJson(List.of("1"))).willReturn(List.of());
+        var response = new MockHttpServletResponse();
+
+        dogController.list(List.of("1"), response);
+        assertThat(response.getContentAsString()).isEqualTo("[]");
+        assertThat(response.getContentLength()).isEqualTo(2);
     }
 
     @Test
@@ -75,18 +183,131 @@ public class DogControllerTests {
     @Test
     public void testSearch() {
         given(dogService.searchDogs(any(DogSearchRequestDto.class)))
-            .willReturn(Pair.of(List.of("rr_-OZUBBPFf4ZNZzPlX"), 1L));
+            .willReturn(DogSearchResult.of(List.of("rr_-OZUBBPFf4ZNZzPlX"), 1L));
         var result = dogController.search(
             DogSearchRequestDto.builder()
                 .sort("breed:asc")
                 .zipCodes(List.of("12345"))
                 .build(),
             mock(HttpServletRequest.class)
-        );
+        ).getBody();
         assertThat(result).isNotNull();
         assertThat(result.getResultIds()).isNotEmpty();
         assertThat(result.getResultIds().getFirst()).isEqualTo("rr_-OZUBBPFf4ZNZzPlX");
         assertThat(result.getTotal()).isEqualTo(1);
         verify(dogService, times(1)).searchDogs(any(DogSearchRequestDto.class));
     }
+
+    @Test
+    public void testSearchIncludingDogs() {
+        var parameters = DogSearchRequestDto.builder().include("dogs").size(100).build();
+        var ids = List.of("rr_-OZUBBPFf4ZNZzPlX", "qcD-OZUBBPFf4ZNZzDCC");
+        var dogs = ids.stream()
+            .map(id -> DogDto.builder().age(1).breed("Pug").id(id).name("Rex").build())
+            .toList();
+        given(dogService.searchDogs(parameters)).willReturn(DogSearchResult.of(ids, 2L));
+        given(dogService.listDogs(ids)).willReturn(dogs);
+
+        var result = dogController.search(parameters, new MockHttpServletRequest()).getBody();
+        assertThat(result).isNotNull();
+        assertThat(result.getResultIds()).isEqualTo(ids);
+        assertThat(result.getDogs()).isEqualTo(dogs);
+        verify(dogService, never()).isStreamed(any(DogSearchRequestDto.class));
+    }
+
+    @Test
+    public void testSearchNotModified() {
+        var request = new MockHttpServletRequest();
+        request.addHeader(HttpHeaders.IF_NONE_MATCH, "*");
+        var response = dogController.search(DogSearchRequestDto.builder().build(), request);
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.NOT_MODIFIED);
+        assertThat(response.getBody()).isNull();
+        verifyNoInteractions(dogService, zipCodeService);
+    }
+
+    @Test
+    public void testSearchInBatch() {
+        var first = DogSearchRequestDto.builder().size(1).build();
+        var second = DogSearchRequestDto.builder().cursor("").size(1).build();
+        given(dogService.searchDogsInBatch(List.of(first, second))).willReturn(List.of(
+            DogSearchResult.of(List.of("rr_-OZUBBPFf4ZNZzPlX"), 2L),
+            new DogSearchResult(List.of("qcD-OZUBBPFf4ZNZzDCC"), 2L, "next", null)
+        ));
+        given(dogService.buildQuery(any(DogSearchRequestDto.class))).willReturn("size=1");
+        given(dogService.buildNavigation("size=1", 1, 1)).willReturn("/dogs/search?size=1&from=1");
+        given(dogService.buildCursorNavigation("size=1", "next"))
+            .willReturn("/dogs/search?size=1&cursor=next");
+
+        var results = dogController.searchInBatch(List.of(first, second));
+        assertThat(results).extracting(DogSearchResponseDto::getResultIds)
+            .containsExactly(List.of("rr_-OZUBBPFf4ZNZzPlX"), List.of("qcD-OZUBBPFf4ZNZzDCC"));
+        assertThat(results.getFirst().getNext()).isEqualTo("/dogs/search?size=1&from=1");
+        assertThat(results.getFirst().getPrevious()).isNull();
+        assertThat(results.getLast().getNext()).isEqualTo("/dogs/search?size=1&cursor=next");
+        verify(dogService, never()).searchDogs(any(DogSearchRequestDto.class));
+    }
+
+    @Test
+    public void testSearchInBatchIncludingDogs() {
+        var parameters = DogSearchRequestDto.builder().include("dogs").size(1).build();
+        var ids = List.of("rr_-OZUBBPFf4ZNZzPlX");
+        var dogs = List.of(DogDto.builder().age(1).breed("Pug").id(ids.getFirst()).build());
+        given(dogService.searchDogsInBatch(List.of(parameters)))
+            .willReturn(List.of(DogSearchResult.of(ids, 1L)));
+        given(dogService.listDogs(ids)).willReturn(dogs);
+
+        assertThat(dogController.searchInBatch(List.of(parameters)).getFirst().getDogs())
+            .isEqualTo(dogs);
+    }
+
+    @SuppressWarnings("unchecked")
+    @Test
+    public void testSearchStreaming() {
+        var parameters = DogSearchRequestDto.builder().from(2).size(2).build();
+        var request = new MockHttpServletRequest();
+        request.setQueryString("from=2&size=2");
+        given(dogService.isStreamed(parameters)).willReturn(true);
+        given(dogService.buildNavigation("from=2&size=2", 4, 2)).willReturn("/next");
+        given(dogService.buildNavigation("from=2&size=2", 0, 2)).willReturn("/previous");
+        willAnswer(invocation -> {
+            invocation.<BiConsumer<Long, Stream<String>>>getArgument(1)
+                .accept(5L, Stream.of("a", "b"));
+            return null;
+        }).given(dogService).streamDogs(eq(parameters), any());
+
+        var result = dogController.search(parameters, request).getBody();
+        verify(dogService, never()).searchDogs(any(DogSearchRequestDto.class));
+        verify(dogService, never()).streamDogs(eq(parameters), any());
+        assertThat(jsonMapper.writeValueAsString(result)).isEqualTo(jsonMapper.writeValueAsString(
+            DogSearchResponseDto.builder()
+                .next("/next")
+                .previous("/previous")
+                .resultIds(List.of("a", "b"))
+                .total(5)
+                .build()
+        ));
+    }
+
+    @SuppressWarnings("unchecked")
+    @Test
+    public void testSearchStreamingFailure() {
+        var parameters = DogSearchRequestDto.builder().size(2).build();
+        given(dogService.isStreamed(parameters)).willReturn(true);
+        willAnswer(invocation -> {
+            invocation.<BiConsumer<Long, Stream<String>>>getArgument(1).accept(
+                5L, Stream.of("a", "b").map(id -> {
+                    throw new IllegalStateException("connection lost");
+                }));
+            return null;
+        }).given(dogService).streamDogs(eq(parameters), any());
+
+        var result = dogController.search(parameters, new MockHttpServletRequest()).getBody();
+        var converter = new JacksonJsonHttpMessageConverter(jsonMapper);
+        assertThat(result).isNotNull();
+        assertThatThrownBy(() -> converter.write(
+            result, MediaType.APPLICATION_JSON, new MockHttpOutputMessage()))
+            .isInstanceOf(IllegalStateException.class)
+            .hasMessage("connection lost");
+    }
 }
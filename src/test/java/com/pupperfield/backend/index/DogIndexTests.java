@@ -0,0 +1,225 @@
+package com.pupperfield.backend.index;
+
+import com.pupperfield.backend.entity.Dog;
+import com.pupperfield.backend.model.DogSearchRequestDto;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.entry;
+
+public class DogIndexTests {
+    private static final DogIndex INDEX = DogIndex.of(List.of(
+        Dog.builder().age(3).breed("Beagle").id("d").name("Max").zipCode("10001").build(),
+        Dog.builder().age(1).breed("Akita").id("a").name("Bella").zipCode("10002").build(),
+        Dog.builder().age(3).breed("Beagle").id("c").name("Coco").zipCode("10001").build(),
+        Dog.builder().age(7).breed("Collie").id("b").name("Bella").zipCode("10003").build(),
+        Dog.builder().age(5).breed("Akita").id("e").name("Daisy").zipCode("10002").build()
+    ));
+
+    @Test
+    public void testSize() {
+        assertThat(INDEX.size()).isEqualTo(5);
+    }
+
+    @Test
+    public void testSearchWithDefaultValues() {
+        var result = INDEX.search(DogSearchRequestDto.builder().build());
+        assertThat(result.resultIds()).containsExactly("a", "e", "c", "d", "b");
+        assertThat(result.total()).isEqualTo(5);
+    }
+
+    @Test
+    public void testSearchWithAgeRange() {
+        var result = INDEX.search(DogSearchRequestDto.builder()
+            .ageMax(5)
+            .ageMin(3)
+            .sort("age:asc")
+            .build());
+        assertThat(result.resultIds()).containsExactly("c", "d", "e");
+        assertThat(result.total()).isEqualTo(3);
+    }
+
+    @Test
+    public void testSearchWithBreeds() {
+        var result = INDEX.search(DogSearchRequestDto.builder()
+            .breeds(List.of("Beagle", "Collie", "Unknown"))
+            .sort("name:desc")
+            .build());
+        assertThat(result.resultIds()).containsExactly("d", "c", "b");
+        assertThat(result.total()).isEqualTo(3);
+    }
+
+    @Test
+    public void testSearchWithZipCodes() {
+        var result = INDEX.search(DogSearchRequestDto.builder()
+            .sort("age:desc")
+            .zipCodes(List.of("10002"))
+            .build());
+        assertThat(result.resultIds()).containsExactly("e", "a");
+        assertThat(result.total()).isEqualTo(2);
+    }
+
+    @Test
+    public void testSearchWithAgesOutsideOfData() {
+        var result = INDEX.search(DogSearchRequestDto.builder().ageMax(100).ageMin(0).build());
+        assertThat(result.total()).isEqualTo(5);
+
+        result = INDEX.search(DogSearchRequestDto.builder().ageMin(8).build());
+        assertThat(result.resultIds()).isEmpty();
+        assertThat(result.total()).isZero();
+    }
+
+    @Test
+    public void testSearchWithCombinedFilters() {
+        var result = INDEX.search(DogSearchRequestDto.builder()
+            .ageMin(2)
+            .breeds(List.of("Akita", "Beagle"))
+            .zipCodes(List.of("10002", "10003"))
+            .build());
+        assertThat(result.resultIds()).containsExactly("e");
+        assertThat(result.total()).isEqualTo(1);
+    }
+
+    @Test
+    public void testFacets() {
+        var facets = INDEX.facets(DogSearchRequestDto.builder()
+            .ageMin(3)
+            .from(3)
+            .sort("name:asc")
+            .build());
+        assertThat(facets.getTotal()).isEqualTo(4);
+        assertThat(facets.getAges()).containsExactly(entry(3, 2L), entry(5, 1L), entry(7, 1L));
+        assertThat(facets.getBreeds())
+            .containsExactly(entry("Akita", 1L), entry("Beagle", 2L), entry("Collie", 1L));
+        assertThat(facets.getZipCodes())
+            .containsExactly(entry("10001", 2L), entry("10002", 1L), entry("10003", 1L));
+    }
+
+    @Test
+    public void testFacetsWithoutResult() {
+        var facets = INDEX.facets(DogSearchRequestDto.builder()
+            .breeds(List.of("Unknown"))
+            .build());
+        assertThat(facets.getTotal()).isZero();
+        assertThat(facets.getAges()).isEmpty();
+        assertThat(facets.getBreeds()).isEmpty();
+        assertThat(facets.getZipCodes()).isEmpty();
+    }
+
+    @Test
+    public void testSearchBreaksTiesById() {
+        var ascending = INDEX.search(DogSearchRequestDto.builder().sort("name:asc").build());
+        assertThat(ascending.resultIds()).containsExactly("a", "b", "c", "e", "d");
+
+        var descending = INDEX.search(DogSearchRequestDto.builder().sort("name:desc").build());
+        assertThat(descending.resultIds()).containsExactly("d", "e", "c", "b", "a");
+    }
+
+    @Test
+    public void testSearchWithPaging() {
+        var result = INDEX.search(DogSearchRequestDto.builder()
+            .from(1)
+            .size(2)
+            .sort("breed:desc")
+            .build());
+        assertThat(result.resultIds()).containsExactly("d", "c");
+        assertThat(result.total()).isEqualTo(5);
+    }
+
+    @Test
+    public void testSearchPagesAreConsistent() {
+        for (var sort : List.of("age:asc", "age:desc", "breed:asc", "breed:desc", "name:asc",
+            "name:desc")) {
+            var all = INDEX.search(DogSearchRequestDto.builder().sort(sort).build()).resultIds();
+            var pages = new ArrayList<String>();
+            for (var from = 0; from < all.size(); from += 2) {
+                pages.addAll(INDEX.search(DogSearchRequestDto.builder()
+                    .from(from)
+                    .size(2)
+                    .sort(sort)
+                    .build()).resultIds());
+            }
+            assertThat(pages).isEqualTo(all);
+        }
+    }
+
+    @Test
+    public void testSearchOutOfBounds() {
+        var result = INDEX.search(DogSearchRequestDto.builder()
+            .from(Integer.MAX_VALUE)
+            .size(Integer.MAX_VALUE)
+            .build());
+        assertThat(result.resultIds()).isEmpty();
+        assertThat(result.total()).isEqualTo(5);
+    }
+
+    @Test
+    public void testSearchWithoutResult() {
+        var result = INDEX.search(DogSearchRequestDto.builder()
+            .zipCodes(List.of("99999"))
+            .build());
+        assertThat(result.resultIds()).isEmpty();
+        assertThat(result.total()).isZero();
+    }
+
+    @Test
+    public void testSearchWithCursorMatchesOffsets() {
+        for (var sort : List.of("age:asc", "age:desc", "breed:asc", "breed:desc", "name:asc",
+            "name:desc")) {
+            var all = INDEX.search(DogSearchRequestDto.builder().sort(sort).build()).resultIds();
+            var pages = new ArrayList<List<String>>();
+            String cursor = "", previous = null;
+            while (cursor != null) {
+                var result = INDEX.search(DogSearchRequestDto.builder()
+                    .cursor(cursor)
+                    .size(2)
+                    .sort(sort)
+                    .build());
+                assertThat(result.total()).isEqualTo(5);
+                pages.add(result.resultIds());
+                cursor = result.nextCursor();
+                previous = result.previousCursor();
+            }
+            assertThat(pages.stream().flatMap(List::stream).toList()).isEqualTo(all);
+
+            // Walking back from the last page visits the same pages in reverse
+            for (var page = pages.size() - 2; page >= 0; page--) {
+                var result = INDEX.search(DogSearchRequestDto.builder()
+                    .cursor(previous)
+                    .size(2)
+                    .sort(sort)
+                    .build());
+                assertThat(result.resultIds()).isEqualTo(pages.get(page));
+                assertThat(result.nextCursor()).isNotNull();
+                previous = result.previousCursor();
+            }
+            assertThat(previous).isNull();
+        }
+    }
+
+    @Test
+    public void testSearchWithCursorAndFilters() {
+        var first = INDEX.search(DogSearchRequestDto.builder()
+            .breeds(List.of("Akita", "Beagle"))
+            .cursor("")
+            .size(2)
+            .sort("age:desc")
+            .build());
+        assertThat(first.resultIds()).containsExactly("e", "d");
+        assertThat(first.total()).isEqualTo(4);
+        assertThat(first.previousCursor()).isNull();
+
+        var second = INDEX.search(DogSearchRequestDto.builder()
+            .breeds(List.of("Akita", "Beagle"))
+            .cursor(first.nextCursor())
+            .size(2)
+            .sort("age:desc")
+            .build());
+        assertThat(second.resultIds()).containsExactly("c", "a");
+        assertThat(second.nextCursor()).isNull();
+        assertThat(second.previousCursor()).isNotNull();
+    }
+}
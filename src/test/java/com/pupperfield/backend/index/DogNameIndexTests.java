@@ -0,0 +1,57 @@
+package com.pupperfield.backend.index;
+
+import com.pupperfield.backend.entity.Dog;
+import com.pupperfield.backend.model.DogNameSuggestionDto;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class DogNameIndexTests {
+    private static final DogNameIndex INDEX = DogNameIndex.of(List.of(
+        Dog.builder().breed("Beagle").id("a").name("Max").build(),
+        Dog.builder().breed("Akita").id("b").name("Bella").build(),
+        Dog.builder().breed("Beagle").id("c").name("Benny").build(),
+        Dog.builder().breed("Collie").id("d").name("Bella").build(),
+        Dog.builder().breed("Akita").id("e").name("bear").build(),
+        Dog.builder().breed("Beagle").id("f").name("Bella").build(),
+        Dog.builder().breed("Collie").id("g").name("Coco").build()
+    ));
+
+    @Test
+    public void testSize() {
+        assertThat(INDEX.size()).isEqualTo(5);
+    }
+
+    @Test
+    public void testSuggest() {
+        assertThat(INDEX.suggest("BE", null, 10)).containsExactly(
+            new DogNameSuggestionDto(1, "bear"),
+            new DogNameSuggestionDto(3, "Bella"),
+            new DogNameSuggestionDto(1, "Benny"));
+    }
+
+    @Test
+    public void testSuggestWithLimit() {
+        assertThat(INDEX.suggest("b", null, 2)).extracting(DogNameSuggestionDto::getName)
+            .containsExactly("bear", "Bella");
+    }
+
+    @Test
+    public void testSuggestWithBreeds() {
+        assertThat(INDEX.suggest("be", List.of("Beagle", "Collie", "Poodle"), 10)).containsExactly(
+            new DogNameSuggestionDto(2, "Bella"),
+            new DogNameSuggestionDto(1, "Benny"));
+        assertThat(INDEX.suggest("be", List.of("Akita", "Beagle"), 2)).containsExactly(
+            new DogNameSuggestionDto(1, "bear"),
+            new DogNameSuggestionDto(2, "Bella"));
+    }
+
+    @Test
+    public void testSuggestWithoutResult() {
+        assertThat(INDEX.suggest("z", null, 10)).isEmpty();
+        assertThat(INDEX.suggest("max", List.of("Akita"), 10)).isEmpty();
+        assertThat(DogNameIndex.of(List.of()).suggest("a", null, 10)).isEmpty();
+    }
+}
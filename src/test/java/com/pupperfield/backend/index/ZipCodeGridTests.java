@@ -0,0 +1,66 @@
+package com.pupperfield.backend.index;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+import static org.assertj.core.api.Assertions.within;
+
+public class ZipCodeGridTests {
+    private static final ZipCodeGrid GRID = ZipCodeGrid.of(List.of(
+        new ZipCodeGrid.Centroid("10001", 40.7506, -73.9972),
+        new ZipCodeGrid.Centroid("10002", 40.7157, -73.9863),
+        new ZipCodeGrid.Centroid("07102", 40.7357, -74.1724),
+        new ZipCodeGrid.Centroid("19103", 39.9526, -75.1652),
+        new ZipCodeGrid.Centroid("90001", 33.9731, -118.2479),
+        new ZipCodeGrid.Centroid("10001", 0, 0)
+    ), 0.5);
+
+    @Test
+    public void testSize() {
+        assertThat(GRID.size()).isEqualTo(5);
+    }
+
+    @Test
+    public void testFindWithin() {
+        assertThat(GRID.findWithin("10001", 5)).containsExactly("10001", "10002");
+        assertThat(GRID.findWithin("10001", 15)).containsExactly("07102", "10001", "10002");
+        assertThat(GRID.findWithin("10001", 100))
+            .containsExactly("07102", "10001", "10002", "19103");
+        assertThat(GRID.findWithin("90001", 100)).containsExactly("90001");
+    }
+
+    @Test
+    public void testFindWithinUnknownZipCode() {
+        assertThat(GRID.findWithin("99999", 100)).containsExactly("99999");
+    }
+
+    @Test
+    public void testFindWithinAcrossTheAntimeridian() {
+        var grid = ZipCodeGrid.of(List.of(
+            new ZipCodeGrid.Centroid("east", 0, 179.9),
+            new ZipCodeGrid.Centroid("west", 0, -179.9)
+        ), 0.5);
+        assertThat(grid.findWithin("east", 20)).containsExactly("east", "west");
+    }
+
+    @Test
+    public void testOfWithInvalidCellSize() {
+        for (var cellSize : new double[] {0, -1, 0.7, Double.NaN}) {
+            assertThatIllegalArgumentException()
+                .isThrownBy(() -> ZipCodeGrid.of(List.of(), cellSize));
+        }
+        assertThat(ZipCodeGrid.isValidCellSize(0.5)).isTrue();
+        assertThat(ZipCodeGrid.isValidCellSize(1)).isTrue();
+        assertThat(ZipCodeGrid.isValidCellSize(0.7)).isFalse();
+    }
+
+    @Test
+    public void testDistance() {
+        assertThat(ZipCodeGrid.distance(40.7506, -73.9972, 33.9731, -118.2479))
+            .isCloseTo(2450, within(25.0));
+        assertThat(ZipCodeGrid.distance(40.7506, -73.9972, 40.7506, -73.9972)).isZero();
+    }
+}
@@ -0,0 +1,84 @@
+package com.pupperfield.backend.pagination;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class DogSearchCursorTests {
+    @Test
+    public void testEncodeAndDecode() {
+        var cursor = new DogSearchCursor(true, "name:asc", "Bella\nMax", "qcD-OZUBBPFf4ZNZzDCC");
+        var token = cursor.encode();
+        assertThat(token).doesNotContain("=", "+", "/");
+        assertThat(DogSearchCursor.decode(token)).isEqualTo(cursor);
+    }
+
+    @Test
+    public void testDecodeMalformedToken() {
+        assertThrows(IllegalArgumentException.class, () -> DogSearchCursor.decode("!!"));
+        assertThrows(IllegalArgumentException.class,
+            () -> DogSearchCursor.decode(Base64.getUrlEncoder()
+                .encodeToString("x\nname:asc\na\nBella".getBytes(StandardCharsets.UTF_8))));
+        assertThrows(IllegalArgumentException.class,
+            () -> DogSearchCursor.decode(new DogSearchCursor(false, "age:asc", "old", "a")
+                .encode()));
+    }
+
+    @Test
+    public void testIsValid() {
+        var token = new DogSearchCursor(false, "age:desc", "3", "a").encode();
+        assertThat(DogSearchCursor.isValid(null, "breed:asc")).isTrue();
+        assertThat(DogSearchCursor.isValid("", "breed:asc")).isTrue();
+        assertThat(DogSearchCursor.isValid(token, "age:desc")).isTrue();
+        assertThat(DogSearchCursor.isValid(token, "age:asc")).isFalse();
+        assertThat(DogSearchCursor.isValid("not a cursor", "age:desc")).isFalse();
+    }
+
+    @Test
+    public void testPaginateFirstPage() {
+        var result = DogSearchCursor.paginate(
+            null, "breed:asc", 2, List.of("a", "b", "c"), List.of("A", "B", "C"), 10);
+        assertThat(result.resultIds()).containsExactly("a", "b");
+        assertThat(result.total()).isEqualTo(10);
+        assertThat(result.previousCursor()).isNull();
+        assertThat(DogSearchCursor.decode(result.nextCursor()))
+            .isEqualTo(new DogSearchCursor(true, "breed:asc", "B", "b"));
+    }
+
+    @Test
+    public void testPaginateLastPage() {
+        var cursor = new DogSearchCursor(true, "breed:asc", "B", "b");
+        var result = DogSearchCursor.paginate(
+            cursor, "breed:asc", 2, List.of("c"), List.of("C"), 3);
+        assertThat(result.resultIds()).containsExactly("c");
+        assertThat(result.nextCursor()).isNull();
+        assertThat(DogSearchCursor.decode(result.previousCursor()))
+            .isEqualTo(new DogSearchCursor(false, "breed:asc", "C", "c"));
+    }
+
+    @Test
+    public void testPaginatePreviousPage() {
+        var cursor = new DogSearchCursor(false, "breed:asc", "E", "e");
+        var result = DogSearchCursor.paginate(
+            cursor, "breed:asc", 2, List.of("d", "c", "b"), List.of("D", "C", "B"), 5);
+        assertThat(result.resultIds()).containsExactly("c", "d");
+        assertThat(DogSearchCursor.decode(result.nextCursor()))
+            .isEqualTo(new DogSearchCursor(true, "breed:asc", "D", "d"));
+        assertThat(DogSearchCursor.decode(result.previousCursor()))
+            .isEqualTo(new DogSearchCursor(false, "breed:asc", "C", "c"));
+    }
+
+    @Test
+    public void testPaginateEmptyPage() {
+        var result = DogSearchCursor.paginate(
+            null, "breed:asc", 2, List.of(), List.of(), 0);
+        assertThat(result.resultIds()).isEmpty();
+        assertThat(result.nextCursor()).isNull();
+        assertThat(result.previousCursor()).isNull();
+    }
+}
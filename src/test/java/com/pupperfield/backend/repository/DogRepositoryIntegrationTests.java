@@ -1,7 +1,8 @@
 package com.pupperfield.backend.repository;
 
 import com.pupperfield.backend.config.DatabaseConfig;
-import com.pupperfield.backend.pagination.DogSearchPagination;
+import com.pupperfield.backend.entity.Dog;
+import com.pupperfield.backend.spec.DogSpecs;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.jdbc.test.autoconfigure.AutoConfigureTestDatabase;
@@ -9,6 +10,8 @@ import org.springframework.boot.data.jpa.test.autoconfigure.DataJpaTest;
 import org.springframework.context.annotation.Import;
 import org.springframework.data.domain.Sort;
 
+import java.util.List;
+
 import static org.assertj.core.api.Assertions.assertThat;
 
 @AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
@@ -19,12 +22,37 @@ public class DogRepositoryIntegrationTests {
     private DogRepository dogRepository;
 
     @Test
-    public void testFindAll() {
-        var result = dogRepository.findAll(
-            (root, query, builder) -> null, new DogSearchPagination(1, 0, Sort.by("name")));
-        assertThat(result.getContent().size()).isEqualTo(1);
-        assertThat(result.getContent().getFirst().getId()).isNotEmpty();
-        assertThat(result.getTotalElements()).isGreaterThan(0);
+    public void testCountFacets() {
+        var spec = DogSpecs.withBreeds(List.of("Beagle", "Pug"));
+        var facets = dogRepository.countFacets(spec);
+        assertThat(facets.getTotal()).isEqualTo(dogRepository.count(spec));
+        assertThat(facets.getBreeds()).containsOnlyKeys("Beagle", "Pug");
+        assertThat(facets.getBreeds().get("Pug"))
+            .isEqualTo(dogRepository.count(DogSpecs.withBreeds(List.of("Pug"))));
+        assertThat(facets.getAges().values().stream().mapToLong(Long::longValue).sum())
+            .isEqualTo(facets.getTotal());
+        assertThat(facets.getZipCodes().values().stream().mapToLong(Long::longValue).sum())
+            .isEqualTo(facets.getTotal());
+    }
+
+    @Test
+    public void testFindIds() {
+        var sort = Sort.by("name", "id");
+        var expected = dogRepository.findAll(DogSpecs.withAgeMax(3), sort).subList(5, 15);
+        var ids = dogRepository.findIds(DogSpecs.withAgeMax(3), sort, 5, 10);
+        assertThat(ids).hasSize(10);
+        assertThat(ids).isEqualTo(expected.stream().map(Dog::getId).toList());
+    }
+
+    @Test
+    public void testFindIdsAndKeys() {
+        var rows = dogRepository.findIdsAndKeys(
+            (root, query, builder) -> null, "age", Sort.by(Sort.Direction.DESC, "age", "id"), 3);
+        assertThat(rows).hasSize(3);
+        rows.forEach(row -> {
+            assertThat(row.getFirst()).hasSize(20);
+            assertThat(Integer.parseInt(row.getSecond())).isGreaterThanOrEqualTo(0);
+        });
     }
 
     @Test
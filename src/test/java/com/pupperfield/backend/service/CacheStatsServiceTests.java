@@ -0,0 +1,60 @@
+package com.pupperfield.backend.service;
+
+import com.pupperfield.backend.cache.DogCacheLoader;
+import com.pupperfield.backend.cache.DogSearchKey;
+import com.pupperfield.backend.cache.SearchCacheLoader;
+import com.pupperfield.backend.config.CacheConfig;
+import com.pupperfield.backend.config.CacheProperties;
+import com.pupperfield.backend.model.CacheStatsDto;
+import com.pupperfield.backend.model.DogSearchRequestDto;
+import com.pupperfield.backend.model.DogSearchResult;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class CacheStatsServiceTests {
+    @Test
+    public void testGetStats() {
+        var loader = new SearchCacheLoader(
+            key -> DogSearchResult.of(List.of(), 0), Executors.newSingleThreadExecutor());
+        var dogLoader = new DogCacheLoader(ids -> Map.of(), Executors.newSingleThreadExecutor());
+        var cacheManager =
+            new CacheConfig().cacheManager(new CacheProperties(), dogLoader, loader);
+        var breeds = cacheManager.getCache(CacheConfig.BREED_CACHE);
+        assertThat(breeds.get("key")).isNull();
+        breeds.put("key", List.of("Beagle", "Pug"));
+        assertThat(breeds.get("key")).isNotNull();
+        assertThat(cacheManager.getCache(CacheConfig.TOTAL_CACHE).get("key", () -> 1L))
+            .isEqualTo(1L);
+
+        var stats = new CacheStatsService(cacheManager, dogLoader, loader).getStats();
+        assertThat(stats).extracting(CacheStatsDto::getName).containsExactly(
+            "breeds", "dogs", "facets", "idLists", "searches", "totals");
+
+        var breedStats = stats.getFirst();
+        assertThat(breedStats.getHitCount()).isEqualTo(1);
+        assertThat(breedStats.getMissCount()).isEqualTo(1);
+        assertThat(breedStats.getHitRate()).isEqualTo(0.5);
+        assertThat(breedStats.getMaximumWeight()).isEqualTo(64 * 1024);
+        assertThat(breedStats.getSize()).isEqualTo(1);
+        assertThat(breedStats.getWeightedSize()).isPositive();
+
+        var totalStats = stats.getLast();
+        assertThat(totalStats.getLoadCount()).isEqualTo(1);
+        assertThat(totalStats.getMissCount()).isEqualTo(1);
+        assertThat(totalStats.getAverageLoadMillis()).isGreaterThanOrEqualTo(0);
+
+        loader.asyncReload(DogSearchKey.of(new DogSearchRequestDto()),
+            DogSearchResult.of(List.of(), 0), Runnable::run);
+        var searchStats = new CacheStatsService(cacheManager, dogLoader, loader).getStats().get(4);
+        assertThat(searchStats.getRefreshCount()).isEqualTo(1);
+        dogLoader.asyncReload("id", null, Runnable::run).join();
+        var dogStats = new CacheStatsService(cacheManager, dogLoader, loader).getStats().get(1);
+        assertThat(dogStats.getRefreshCount()).isEqualTo(1);
+        assertThat(stats.getFirst().getRefreshCount()).isZero();
+    }
+}
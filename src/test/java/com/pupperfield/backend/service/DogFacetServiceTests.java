@@ -0,0 +1,93 @@
+package com.pupperfield.backend.service;
+
+import com.pupperfield.backend.cache.DogCacheLoader;
+import com.pupperfield.backend.cache.SearchCacheLoader;
+import com.pupperfield.backend.config.CacheConfig;
+import com.pupperfield.backend.config.CacheProperties;
+import com.pupperfield.backend.config.SearchProperties;
+import com.pupperfield.backend.model.DogFacetsDto;
+import com.pupperfield.backend.model.DogSearchRequestDto;
+import com.pupperfield.backend.model.DogSearchResult;
+import com.pupperfield.backend.repository.DogRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.cache.CacheManager;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.Executors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+public class DogFacetServiceTests {
+    private static final DogFacetsDto FACETS = new DogFacetsDto(
+        new TreeMap<>(), new TreeMap<>(), 0, new TreeMap<>());
+
+    @Spy
+    private CacheManager cacheManager = new CacheConfig().cacheManager(
+        new CacheProperties(),
+        new DogCacheLoader(ids -> Map.of(), Executors.newSingleThreadExecutor()),
+        new SearchCacheLoader(
+            key -> DogSearchResult.of(List.of(), 0), Executors.newSingleThreadExecutor()));
+
+    @Mock
+    private DogIndexService dogIndexService;
+
+    @Mock
+    private DogRepository dogRepository;
+
+    @Spy
+    private SearchProperties searchProperties = new SearchProperties();
+
+    @InjectMocks
+    private DogFacetService dogFacetService;
+
+    @SuppressWarnings("unchecked")
+    @Test
+    public void testGetFacetsCachesByFilter() {
+        given(dogRepository.countFacets(any(Specification.class))).willReturn(FACETS);
+        var first = dogFacetService.getFacets(DogSearchRequestDto.builder()
+            .breeds(List.of("Pug", "Beagle"))
+            .build());
+        var second = dogFacetService.getFacets(DogSearchRequestDto.builder()
+            .breeds(List.of("Beagle", "Pug"))
+            .from(50)
+            .sort("age:desc")
+            .build());
+        assertThat(first).isSameAs(FACETS);
+        assertThat(second).isSameAs(FACETS);
+        verify(dogRepository, times(1)).countFacets(any(Specification.class));
+        verify(dogIndexService, never()).facets(any());
+    }
+
+    @SuppressWarnings("unchecked")
+    @Test
+    public void testGetFacetsInMemory() {
+        searchProperties.setEngine(SearchProperties.Engine.MEMORY);
+        var parameters = DogSearchRequestDto.builder().ageMin(3).build();
+        given(dogIndexService.facets(parameters)).willReturn(FACETS);
+        assertThat(dogFacetService.getFacets(parameters)).isSameAs(FACETS);
+        verify(dogRepository, never()).countFacets(any(Specification.class));
+    }
+
+    @SuppressWarnings("unchecked")
+    @Test
+    public void testGetFacetsForRadius() {
+        var parameters = DogSearchRequestDto.builder().distance(10.0).zip("72080").build();
+        given(dogIndexService.facets(parameters)).willReturn(FACETS);
+        assertThat(dogFacetService.getFacets(parameters)).isSameAs(FACETS);
+        verify(dogRepository, never()).countFacets(any(Specification.class));
+    }
+}
@@ -0,0 +1,130 @@
+package com.pupperfield.backend.service;
+
+import com.pupperfield.backend.model.DogSearchFilter;
+import com.pupperfield.backend.model.DogSearchRequestDto;
+import com.pupperfield.backend.repository.DogRepository;
+import com.pupperfield.backend.spec.DogSpecs;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+public class DogIndexServiceIntegrationTests {
+    @Autowired
+    private DogIndexService dogIndexService;
+
+    @Autowired
+    private DogRepository dogRepository;
+
+    @Autowired
+    private DogService dogService;
+
+    @Autowired
+    private ZipCodeService zipCodeService;
+
+    @CsvSource(delimiter = ';', nullValues = "-", value = {
+        "-;-;-;-;0;25;breed:asc",
+        "-;-;-;-;20000;100;breed:desc",
+        "10;5;-;-;0;50;age:asc",
+        "3;3;-;-;100;25;age:desc",
+        "-;-;Great Dane,Standard Poodle;-;0;100;name:asc",
+        "-;2;Affenpinscher;-;5;10;name:desc",
+        "-;-;-;72080,01053,59634;0;25;breed:asc",
+        "14;0;Beagle,Pug;-;0;1000;age:asc"
+    })
+    @ParameterizedTest
+    public void testSearchMatchesDatabase(
+        Integer ageMax,
+        Integer ageMin,
+        String breeds,
+        String zipCodes,
+        int from,
+        int size,
+        String sort
+    ) {
+        var parameters = DogSearchRequestDto.builder()
+            .ageMax(ageMax)
+            .ageMin(ageMin)
+            .breeds(breeds == null ? null : List.of(breeds.split(",")))
+            .from(from)
+            .size(size)
+            .sort(sort)
+            .zipCodes(zipCodes == null ? null : List.of(zipCodes.split(",")))
+            .build();
+        var expected = dogService.searchDogs(parameters);
+        var actual = dogIndexService.search(parameters);
+        assertThat(actual.resultIds()).isEqualTo(expected.resultIds());
+        assertThat(actual.total()).isEqualTo(expected.total());
+    }
+
+    @CsvSource(delimiter = ';', nullValues = "-", value = {
+        "-;-;-;500;breed:asc",
+        "-;-;-;700;age:desc",
+        "10;5;-;1000;name:asc",
+        "-;2;Affenpinscher,Pug;7;name:desc"
+    })
+    @ParameterizedTest
+    public void testCursorSearchMatchesDatabase(
+        Integer ageMax,
+        Integer ageMin,
+        String breeds,
+        int size,
+        String sort
+    ) {
+        var builder = DogSearchRequestDto.builder()
+            .ageMax(ageMax)
+            .ageMin(ageMin)
+            .breeds(breeds == null ? null : List.of(breeds.split(",")))
+            .size(size)
+            .sort(sort);
+        var cursor = "";
+        for (var page = 0; page < 5 && cursor != null; page++) {
+            var parameters = builder.cursor(cursor).build();
+            var expected = dogService.searchDogs(parameters);
+            var actual = dogIndexService.search(parameters);
+            assertThat(actual).isEqualTo(expected);
+            cursor = expected.nextCursor();
+        }
+    }
+
+    @CsvSource(delimiter = ';', nullValues = "-", value = {
+        "-;-;-;-",
+        "10;5;-;-",
+        "-;2;Affenpinscher,Pug;-",
+        "-;-;-;72080,01053,59634"
+    })
+    @ParameterizedTest
+    public void testFacetsMatchDatabase(
+        Integer ageMax,
+        Integer ageMin,
+        String breeds,
+        String zipCodes
+    ) {
+        var parameters = DogSearchRequestDto.builder()
+            .ageMax(ageMax)
+            .ageMin(ageMin)
+            .breeds(breeds == null ? null : List.of(breeds.split(",")))
+            .zipCodes(zipCodes == null ? null : List.of(zipCodes.split(",")))
+            .build();
+        assertThat(dogIndexService.facets(parameters)).isEqualTo(
+            dogRepository.countFacets(DogSpecs.withFilter(DogSearchFilter.of(parameters))));
+    }
+
+    @CsvSource({"72081,5", "72081,30", "90210,10"})
+    @ParameterizedTest
+    public void testRadiusSearchMatchesZipCodes(String zip, double distance) {
+        var radius = DogSearchRequestDto.builder().distance(distance).size(100).zip(zip).build();
+        var zipCodes = DogSearchRequestDto.builder()
+            .size(100)
+            .zipCodes(zipCodeService.findWithin(zip, distance))
+            .build();
+        assertThat(dogService.searchDogs(radius)).isEqualTo(dogService.searchDogs(zipCodes));
+        assertThat(dogIndexService.facets(radius)).isEqualTo(
+            dogRepository.countFacets(DogSpecs.withFilter(DogSearchFilter.of(zipCodes))));
+    }
+}
@@ -0,0 +1,107 @@
+package com.pupperfield.backend.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.pupperfield.backend.cache.CacheWeigher;
+import com.pupperfield.backend.config.CacheConfig;
+import com.pupperfield.backend.model.DogSearchRequestDto;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.openjdk.jol.info.GraphLayout;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.CacheManager;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(properties = {
+    "pupperfield.cache.maximum-weight.searches=256KB",
+    "pupperfield.cache.maximum-weight.totals=16KB",
+    "pupperfield.warmup.enabled=false"
+})
+public class DogServiceCacheLimitTests {
+    private static final long SEARCH_LIMIT = 256 * 1024;
+    private static final long TOTAL_LIMIT = 16 * 1024;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @Autowired
+    private DogService dogService;
+
+    @BeforeEach
+    public void setUp() {
+        for (var cacheName : cacheManager.getCacheNames()) {
+            cacheManager.getCache(cacheName).clear();
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    @Test
+    public void testCachesStayBoundedUnderUniqueSearches() {
+        var searches = (Cache<Object, Object>) cacheManager.getCache(CacheConfig.SEARCH_CACHE)
+            .getNativeCache();
+        var totals = (Cache<Object, Object>) cacheManager.getCache(CacheConfig.TOTAL_CACHE)
+            .getNativeCache();
+        assertThat(searches.policy().eviction().orElseThrow().getMaximum())
+            .isEqualTo(SEARCH_LIMIT);
+        assertThat(totals.policy().eviction().orElseThrow().getMaximum()).isEqualTo(TOTAL_LIMIT);
+
+        var breeds = List.copyOf(dogService.getBreeds());
+        for (var query = 0; query < 5_000; query++) {
+            dogService.searchDogs(DogSearchRequestDto.builder()
+                .ageMin(query % 3)
+                .breeds(List.of(breeds.get(query % breeds.size())))
+                .from(query / breeds.size())
+                .size(200 + query % 10)
+                .build());
+            if (query % 500 == 0) {
+                searches.cleanUp();
+                assertThat(searches.policy().eviction().orElseThrow().weightedSize()
+                    .orElseThrow()).isLessThanOrEqualTo(SEARCH_LIMIT);
+            }
+        }
+        searches.cleanUp();
+        totals.cleanUp();
+
+        assertThat(searches.estimatedSize()).isPositive().isLessThan(5_000);
+        assertThat(searches.policy().eviction().orElseThrow().weightedSize().orElseThrow())
+            .isLessThanOrEqualTo(SEARCH_LIMIT);
+        assertThat(totals.policy().eviction().orElseThrow().weightedSize().orElseThrow())
+            .isLessThanOrEqualTo(TOTAL_LIMIT);
+    }
+
+    @SuppressWarnings("unchecked")
+    @Test
+    public void testWeightsMatchRetainedSizes() {
+        // JOL cannot read the field offsets of records without this
+        System.setProperty("jol.magicFieldOffset", "true");
+        var breeds = List.copyOf(dogService.getBreeds());
+        for (var query = 0; query < 200; query++) {
+            var parameters = DogSearchRequestDto.builder()
+                .ageMin(query % 3)
+                .breeds(List.of(breeds.get(query % breeds.size())))
+                .size(25)
+                .build();
+            dogService.listDogs(dogService.searchDogs(parameters).resultIds());
+        }
+
+        for (var cacheName : List.of(
+            CacheConfig.DOG_CACHE, CacheConfig.SEARCH_CACHE, CacheConfig.TOTAL_CACHE)) {
+            var cache = (Cache<Object, Object>) cacheManager.getCache(cacheName).getNativeCache();
+            var weigher = new CacheWeigher();
+            var entries = new ArrayList<>();
+            long estimated = 0;
+            for (var entry : cache.asMap().entrySet()) {
+                estimated += weigher.weigh(entry.getKey(), entry.getValue());
+                entries.add(entry.getKey());
+                entries.add(entry.getValue());
+            }
+            long retained = GraphLayout.parseInstance(entries.toArray()).totalSize();
+            assertThat(entries).as(cacheName).isNotEmpty();
+            assertThat((double) estimated / retained).as(cacheName).isBetween(0.8, 1.5);
+        }
+    }
+}
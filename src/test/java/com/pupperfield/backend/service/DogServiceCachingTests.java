@@ -2,6 +2,7 @@ package com.pupperfield.backend.service;
 
 import com.github.benmanes.caffeine.cache.Cache;
 import com.pupperfield.backend.config.CacheConfig;
+import com.pupperfield.backend.config.SearchProperties;
 import com.pupperfield.backend.model.DogSearchRequestDto;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -9,6 +10,7 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.cache.CacheManager;
 
+import java.util.ArrayList;
 import java.util.List;
 
 import static org.assertj.core.api.Assertions.assertThat;
@@ -21,6 +23,9 @@ public class DogServiceCachingTests {
     @Autowired
     private DogService dogService;
 
+    @Autowired
+    private SearchProperties searchProperties;
+
     @BeforeEach
     public void setUp() {
         for (var cacheName : cacheManager.getCacheNames()) {
@@ -49,18 +54,18 @@ public class DogServiceCachingTests {
 
     @SuppressWarnings("unchecked")
     @Test
-    public void testListCacheFilledOncePopulated() {
-        var cache = (Cache<Object, Object>) cacheManager.getCache(CacheConfig.LIST_CACHE)
+    public void testDogCacheFilledOncePopulated() {
+        var cache = (Cache<Object, Object>) cacheManager.getCache(CacheConfig.DOG_CACHE)
             .getNativeCache();
         assertThat(cache.asMap().size()).isZero();
         dogService.listDogs(List.of("Tb_-OZUBBPFf4ZNZzPFL", "UL_-OZUBBPFf4ZNZzPFL"));
-        assertThat(cache.asMap().size()).isEqualTo(1);
+        assertThat(cache.asMap().size()).isEqualTo(2);
     }
 
     @SuppressWarnings("unchecked")
     @Test
-    public void testListCacheNotFilledIfResultIsEmpty() {
-        var cache = (Cache<Object, Object>) cacheManager.getCache(CacheConfig.LIST_CACHE)
+    public void testDogCacheNotFilledIfResultIsEmpty() {
+        var cache = (Cache<Object, Object>) cacheManager.getCache(CacheConfig.DOG_CACHE)
             .getNativeCache();
         assertThat(cache.asMap().size()).isZero();
         dogService.listDogs(List.of("1", "2", "3"));
@@ -92,4 +97,82 @@ public class DogServiceCachingTests {
             .build());
         assertThat(cache.asMap().size()).isZero();
     }
+
+    @SuppressWarnings("unchecked")
+    @Test
+    public void testTotalCacheSharedAcrossPagesAndSorts() {
+        var cache = (Cache<Object, Object>) cacheManager.getCache(CacheConfig.TOTAL_CACHE)
+            .getNativeCache();
+        assertThat(cache.asMap().size()).isZero();
+        for (var sort : List.of("breed:asc", "age:desc")) {
+            for (var from = 0; from < 100; from += 25) {
+                dogService.searchDogs(DogSearchRequestDto.builder()
+                    .breeds(List.of("Pug", "Beagle"))
+                    .from(from)
+                    .sort(sort)
+                    .build());
+            }
+        }
+        dogService.searchDogs(DogSearchRequestDto.builder()
+            .breeds(List.of("Beagle", "Pug", "Beagle"))
+            .build());
+        assertThat(cache.asMap().size()).isEqualTo(1);
+    }
+
+    @SuppressWarnings("unchecked")
+    @Test
+    public void testSearchCacheIgnoresFilterOrder() {
+        var cache = (Cache<Object, Object>) cacheManager.getCache(CacheConfig.SEARCH_CACHE)
+            .getNativeCache();
+        var first = dogService.searchDogs(DogSearchRequestDto.builder()
+            .breeds(List.of("Pug", "Beagle"))
+            .build());
+        var second = dogService.searchDogs(DogSearchRequestDto.builder()
+            .breeds(List.of("Beagle", "Pug", "Pug"))
+            .build());
+        assertThat(cache.asMap().size()).isEqualTo(1);
+        assertThat(second).isSameAs(first);
+    }
+
+    @SuppressWarnings("unchecked")
+    @Test
+    public void testIdListCacheServesEveryPage() {
+        var searches = (Cache<Object, Object>) cacheManager.getCache(CacheConfig.SEARCH_CACHE)
+            .getNativeCache();
+        var idLists = (Cache<Object, Object>) cacheManager.getCache(CacheConfig.ID_LIST_CACHE)
+            .getNativeCache();
+        var pages = new ArrayList<String>();
+        searchProperties.setIdListCache(true);
+        try {
+            for (var from = 0; from < 100; from += 25) {
+                pages.addAll(dogService.searchDogs(DogSearchRequestDto.builder()
+                    .breeds(List.of("Pug", "Beagle"))
+                    .from(from)
+                    .build()).resultIds());
+            }
+        } finally {
+            searchProperties.setIdListCache(false);
+        }
+        assertThat(searches.asMap().size()).isZero();
+        assertThat(idLists.asMap().size()).isEqualTo(1);
+        assertThat(pages).isEqualTo(dogService.searchDogs(DogSearchRequestDto.builder()
+            .breeds(List.of("Pug", "Beagle"))
+            .size(100)
+            .build()).resultIds());
+    }
+
+    @SuppressWarnings("unchecked")
+    @Test
+    public void testDogCacheSharedAcrossOverlappingLists() {
+        var cache = (Cache<Object, Object>) cacheManager.getCache(CacheConfig.DOG_CACHE)
+            .getNativeCache();
+        var first = dogService.listDogs(List.of("Tb_-OZUBBPFf4ZNZzPFL", "UL_-OZUBBPFf4ZNZzPFL"));
+        var hits = cache.stats().hitCount();
+        var second = dogService.listDogs(List.of(
+            "UL_-OZUBBPFf4ZNZzPFL", "qcD-OZUBBPFf4ZNZzDCC", "Tb_-OZUBBPFf4ZNZzPFL"));
+        assertThat(cache.asMap().size()).isEqualTo(3);
+        assertThat(cache.stats().hitCount() - hits).isEqualTo(2);
+        assertThat(second.getFirst()).isSameAs(first.getLast());
+        assertThat(second.getLast()).isSameAs(first.getFirst());
+    }
 }
@@ -1,38 +1,86 @@
 package com.pupperfield.backend.service;
 
+import com.pupperfield.backend.cache.DogCacheLoader;
+import com.pupperfield.backend.cache.DogSearchKey;
+import com.pupperfield.backend.cache.SearchCacheLoader;
+import com.pupperfield.backend.config.CacheConfig;
+import com.pupperfield.backend.config.CacheProperties;
+import com.pupperfield.backend.config.SearchProperties;
 import com.pupperfield.backend.entity.Dog;
 import com.pupperfield.backend.mapper.DogMapper;
 import com.pupperfield.backend.model.DogDto;
+import com.pupperfield.backend.model.DogSearchFilter;
 import com.pupperfield.backend.model.DogSearchRequestDto;
-import com.pupperfield.backend.pagination.DogSearchPagination;
+import com.pupperfield.backend.model.DogSearchResult;
 import com.pupperfield.backend.repository.DogRepository;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.ArgumentMatchers;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
-import org.springframework.data.domain.PageImpl;
+import org.springframework.cache.CacheManager;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
 import org.springframework.data.domain.Sort;
 import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.util.Pair;
+import org.springframework.web.server.ResponseStatusException;
+import tools.jackson.databind.json.JsonMapper;
 
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.springframework.data.domain.Sort.Direction.ASC;
 
 @ExtendWith(MockitoExtension.class)
 public class DogServiceTests {
+    @Spy
+    private CacheManager cacheManager = new CacheConfig().cacheManager(
+        new CacheProperties(),
+        new DogCacheLoader(
+            ids -> this.dogService.loadDogs(ids), Executors.newVirtualThreadPerTaskExecutor()),
+        new SearchCacheLoader(
+            key -> this.dogService.loadSearch(key), Executors.newVirtualThreadPerTaskExecutor()));
+
+    @Mock
+    private DogIndexService dogIndexService;
+
     @Mock
     private DogMapper dogMapper;
 
     @Mock
     private DogRepository dogRepository;
 
+    @Spy
+    private JsonMapper jsonMapper = new JsonMapper();
+
+    @Spy
+    private SearchProperties searchProperties = new SearchProperties();
+
+    @Spy
+    private AsyncTaskExecutor taskExecutor = new SimpleAsyncTaskExecutor();
+
     @InjectMocks
     private DogService dogService;
 
@@ -59,17 +107,67 @@ public class DogServiceTests {
             .map(id -> Dog.builder().id(id).build())
             .toList();
 
-        given(dogRepository.findAllById(any())).willReturn(dogList);
+        given(dogRepository.findAllById(any())).willReturn(dogList.reversed());
         for (var dog : dogList) {
             given(dogMapper.dogToDogDto(dog)).willReturn(DogDto.builder().id(dog.getId()).build());
         }
 
         var dogs = dogService.listDogs(idList);
-        verify(dogRepository, times(1)).findAllById(ArgumentMatchers.eq(idList));
+        verify(dogRepository, times(1)).findAllById(any());
         verify(dogMapper, times(idList.size())).dogToDogDto(any(Dog.class));
-        assertThat(dogs).isNotEmpty();
-        assertThat(dogs.size()).isEqualTo(idList.size());
-        dogs.forEach(dog -> assertThat(idList.contains(dog.getId())).isTrue());
+        assertThat(dogs).extracting(DogDto::getId).isEqualTo(idList);
+    }
+
+    @SuppressWarnings("unchecked")
+    @Test
+    public void testListDogsLoadsMissingDogsOnly() {
+        var cached = List.of("s8D-OZUBBPFf4ZNZzA1l", "tMD-OZUBBPFf4ZNZzA1l");
+        var missing = List.of("tcD-OZUBBPFf4ZNZzA1l", "nonexistent");
+        given(dogRepository.findAllById(any())).willAnswer(invocation -> {
+            var dogs = new ArrayList<Dog>();
+            for (var id : (Iterable<String>) invocation.getArgument(0)) {
+                if (id.equals("nonexistent") == false) {
+                    dogs.add(Dog.builder().id(id).build());
+                }
+            }
+            return dogs;
+        });
+        given(dogMapper.dogToDogDto(any(Dog.class))).willAnswer(invocation ->
+            DogDto.builder().id(invocation.<Dog>getArgument(0).getId()).build());
+        dogService.listDogs(cached);
+
+        var dogs = dogService.listDogs(List.of(
+            missing.getFirst(), cached.getLast(), missing.getLast(), cached.getFirst(),
+            missing.getFirst()));
+        for (var idList : List.of(cached, missing)) {
+            verify(dogRepository, times(1)).findAllById(ArgumentMatchers.argThat(ids ->
+                Set.copyOf((List<String>) ids).equals(Set.copyOf(idList))));
+        }
+        assertThat(dogs).extracting(DogDto::getId)
+            .containsExactly(missing.getFirst(), cached.getLast(), cached.getFirst());
+    }
+
+    @Test
+    public void testListDogsAsJson() {
+        var dog = Dog.builder().id("s8D-OZUBBPFf4ZNZzA1l").build();
+        var dto = DogDto.builder()
+            .age(3)
+            .breed("Pug")
+            .id(dog.getId())
+            .imageLink("https://frontend-take-home.fetch.com/dog-images/1.jpg")
+            .name("Emory")
+            .zipCode("10001")
+            .build();
+        given(dogRepository.findAllById(any())).willReturn(List.of(dog));
+        given(dogMapper.dogToDogDto(dog)).willReturn(dto);
+
+        var json = dogService.listDogsAsJson(List.of(dog.getId(), "nonexistent"));
+        assertThat(json).hasSize(1);
+        assertThat(json.getFirst()).isEqualTo(new JsonMapper().writeValueAsBytes(dto));
+        assertThat(dogService.listDogsAsJson(List.of(dog.getId())).getFirst())
+            .isSameAs(json.getFirst());
+        assertThat(dogService.listDogs(List.of(dog.getId()))).containsExactly(dto);
+        verify(jsonMapper, times(1)).writeValueAsBytes(dto);
     }
 
     @Test
@@ -93,10 +191,9 @@ public class DogServiceTests {
     @SuppressWarnings("unchecked")
     @Test
     public void testSearchDogs() {
-        given(dogRepository.findAll(any(Specification.class), any(DogSearchPagination.class)))
-            .willReturn(new PageImpl<>(
-                List.of(Dog.builder().id("qcD-OZUBBPFf4ZNZzDCC").build()),
-                new DogSearchPagination(1, 0, Sort.by(ASC, "breed")), 1));
+        given(dogRepository.findIds(any(Specification.class), any(Sort.class), eq(0L), eq(1)))
+            .willReturn(List.of("qcD-OZUBBPFf4ZNZzDCC"));
+        given(dogRepository.count(any(Specification.class))).willReturn(1L);
 
         var result = dogService.searchDogs(DogSearchRequestDto.builder()
             .from(0)
@@ -104,10 +201,314 @@ public class DogServiceTests {
             .sort("breed:asc")
             .build()
         );
-        verify(dogRepository, times(1)).findAll(
-            any(Specification.class), any(DogSearchPagination.class));
-        assertThat(result.getFirst()).isNotEmpty();
-        assertThat(result.getSecond()).isGreaterThan(0);
+        verify(dogRepository, times(1)).findIds(
+            any(Specification.class), eq(Sort.by(ASC, "breed", "id")), eq(0L), eq(1));
+        verify(dogRepository, times(1)).count(any(Specification.class));
+        assertThat(result.resultIds()).isNotEmpty();
+        assertThat(result.total()).isGreaterThan(0);
+    }
+
+    @SuppressWarnings("unchecked")
+    @Test
+    public void testSearchDogsCountsFilterOnce() {
+        given(dogRepository.findIds(any(Specification.class), any(Sort.class), anyLong(), anyInt()))
+            .willReturn(List.of("qcD-OZUBBPFf4ZNZzDCC"));
+        given(dogRepository.count(any(Specification.class))).willReturn(10_000L);
+
+        for (var from = 0; from < 100; from += 25) {
+            for (var sort : List.of("age:asc", "name:desc")) {
+                var result = dogService.searchDogs(DogSearchRequestDto.builder()
+                    .breeds(List.of("Pug", "Beagle", "Pug"))
+                    .from(from)
+                    .sort(sort)
+                    .build());
+                assertThat(result.total()).isEqualTo(10_000L);
+            }
+        }
+        dogService.searchDogs(DogSearchRequestDto.builder()
+            .breeds(List.of("Beagle", "Pug"))
+            .cursor("")
+            .build());
+        verify(dogRepository, times(8)).findIds(
+            any(Specification.class), any(Sort.class), anyLong(), anyInt());
+        verify(dogRepository, times(1)).findIdsAndKeys(
+            any(Specification.class), eq("breed"), any(Sort.class), eq(26));
+        verify(dogRepository, times(1)).count(any(Specification.class));
+    }
+
+    @SuppressWarnings("unchecked")
+    @Test
+    public void testSearchDogsWithConcurrentCount() {
+        searchProperties.setConcurrentCount(true);
+        given(dogRepository.findIds(any(Specification.class), any(Sort.class), anyLong(), anyInt()))
+            .willReturn(List.of("qcD-OZUBBPFf4ZNZzDCC"));
+        given(dogRepository.count(any(Specification.class))).willReturn(3L);
+
+        var parameters = DogSearchRequestDto.builder().zipCodes(List.of("10001")).build();
+        assertThat(dogService.searchDogs(parameters).total()).isEqualTo(3L);
+        assertThat(dogService.searchDogs(parameters).total()).isEqualTo(3L);
+        verify(taskExecutor, times(1)).execute(any(Runnable.class));
+        verify(dogRepository, times(1)).count(any(Specification.class));
+    }
+
+    @SuppressWarnings("unchecked")
+    @Test
+    public void testSearchDogsCoalescesConcurrentMisses() throws Exception {
+        var callers = 32;
+        var started = new CountDownLatch(callers);
+        var release = new CountDownLatch(1);
+        given(dogRepository.findIds(any(Specification.class), any(Sort.class), anyLong(), anyInt()))
+            .willAnswer(invocation -> {
+                release.await();
+                return List.of("qcD-OZUBBPFf4ZNZzDCC");
+            });
+        given(dogRepository.count(any(Specification.class))).willReturn(1L);
+
+        var results = new ArrayList<Future<DogSearchResult>>();
+        try (var executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (var caller = 0; caller < callers; caller++) {
+                results.add(executor.submit(() -> {
+                    started.countDown();
+                    return dogService.searchDogs(DogSearchRequestDto.builder()
+                        .breeds(List.of("Pug"))
+                        .build());
+                }));
+            }
+            started.await();
+            // Give the callers time to reach the cache before the first load finishes
+            Thread.sleep(200);
+            release.countDown();
+
+            var first = results.getFirst().get(5, TimeUnit.SECONDS);
+            for (var result : results) {
+                assertThat(result.get(5, TimeUnit.SECONDS)).isSameAs(first);
+            }
+        }
+        verify(dogRepository, times(1)).findIds(
+            any(Specification.class), any(Sort.class), anyLong(), anyInt());
+        verify(dogRepository, times(1)).count(any(Specification.class));
+    }
+
+    @SuppressWarnings("unchecked")
+    @Test
+    public void testSearchDogsRetriesFailedAndEmptySearches() {
+        given(dogRepository.findIds(any(Specification.class), any(Sort.class), anyLong(), anyInt()))
+            .willThrow(new IllegalStateException("busy"))
+            .willReturn(List.of())
+            .willReturn(List.of("qcD-OZUBBPFf4ZNZzDCC"));
+        given(dogRepository.count(any(Specification.class))).willReturn(0L, 1L);
+        var parameters = DogSearchRequestDto.builder().breeds(List.of("Pug")).build();
+
+        assertThatThrownBy(() -> dogService.searchDogs(parameters))
+            .isInstanceOf(IllegalStateException.class);
+        assertThat(dogService.searchDogs(parameters).total()).isZero();
+        cacheManager.getCache(CacheConfig.TOTAL_CACHE).clear();
+        assertThat(dogService.searchDogs(parameters).total()).isEqualTo(1L);
+        assertThat(dogService.searchDogs(parameters).total()).isEqualTo(1L);
+        verify(dogRepository, times(3)).findIds(
+            any(Specification.class), any(Sort.class), anyLong(), anyInt());
+    }
+
+    @SuppressWarnings("unchecked")
+    @Test
+    public void testSearchDogsFromIdList() {
+        searchProperties.setIdListCache(true);
+        var ids = new ArrayList<String>();
+        for (var index = 0; index < 60; index++) {
+            ids.add("qcD-OZUBBPFf4ZNZz%03d".formatted(index));
+        }
+        given(dogRepository.findIds(any(Specification.class), any(Sort.class), eq(0L),
+            eq(Integer.MAX_VALUE))).willReturn(ids);
+
+        for (var from = 0; from < 100; from += 25) {
+            var result = dogService.searchDogs(DogSearchRequestDto.builder()
+                .breeds(List.of("Pug", "Beagle"))
+                .from(from)
+                .sort("name:asc")
+                .build());
+            assertThat(result.resultIds())
+                .isEqualTo(ids.subList(Math.min(from, 60), Math.min(from + 25, 60)));
+            assertThat(result.total()).isEqualTo(60L);
+        }
+        verify(dogRepository, times(1)).findIds(
+            any(Specification.class), eq(Sort.by(ASC, "name", "id")), eq(0L),
+            eq(Integer.MAX_VALUE));
+        verify(dogRepository, never()).count(any(Specification.class));
+        assertThat(cacheManager.getCache(CacheConfig.TOTAL_CACHE)
+            .get(DogSearchFilter.of(DogSearchRequestDto.builder()
+                .breeds(List.of("Beagle", "Pug"))
+                .build()), Long.class)).isEqualTo(60L);
+    }
+
+    @Test
+    public void testIsSliced() {
+        var parameters = DogSearchRequestDto.builder().build();
+        assertThat(dogService.isSliced(parameters)).isFalse();
+        searchProperties.setIdListCache(true);
+        assertThat(dogService.isSliced(parameters)).isTrue();
+        assertThat(dogService.isSliced(DogSearchRequestDto.builder().cursor("").build()))
+            .isFalse();
+        searchProperties.setEngine(SearchProperties.Engine.MEMORY);
+        assertThat(dogService.isSliced(parameters)).isFalse();
+    }
+
+    @SuppressWarnings("unchecked")
+    @Test
+    public void testSearchDogsInMemory() {
+        searchProperties.setEngine(SearchProperties.Engine.MEMORY);
+        var parameters = DogSearchRequestDto.builder()
+            .from(0)
+            .size(1)
+            .sort("breed:asc")
+            .build();
+        given(dogIndexService.search(parameters))
+            .willReturn(DogSearchResult.of(List.of("qcD-OZUBBPFf4ZNZzDCC"), 1L));
+
+        var result = dogService.searchDogs(parameters);
+        verify(dogIndexService, times(1)).search(parameters);
+        verify(dogRepository, never()).findIds(
+            any(Specification.class), any(Sort.class), anyLong(), anyInt());
+        assertThat(result.resultIds()).containsExactly("qcD-OZUBBPFf4ZNZzDCC");
+        assertThat(result.total()).isEqualTo(1);
+    }
+
+    @Test
+    public void testLoadSearchBypassesCache() {
+        searchProperties.setEngine(SearchProperties.Engine.MEMORY);
+        var key = DogSearchKey.of(DogSearchRequestDto.builder()
+            .breeds(List.of("Pug", "Beagle"))
+            .build());
+        given(dogIndexService.search(any()))
+            .willReturn(DogSearchResult.of(List.of("qcD-OZUBBPFf4ZNZzDCC"), 1L));
+
+        assertThat(dogService.loadSearch(key).total()).isEqualTo(1);
+        assertThat(dogService.loadSearch(key).total()).isEqualTo(1);
+        verify(dogIndexService, times(2)).search(ArgumentMatchers.argThat(
+            request -> request.getBreeds().equals(List.of("Beagle", "Pug"))));
+    }
+
+    @SuppressWarnings("unchecked")
+    @Test
+    public void testSearchDogsComparingEngines() {
+        searchProperties.setEngine(SearchProperties.Engine.COMPARE);
+        var parameters = DogSearchRequestDto.builder()
+            .from(0)
+            .size(1)
+            .sort("breed:asc")
+            .build();
+        given(dogRepository.findIds(any(Specification.class), any(Sort.class), eq(0L), eq(1)))
+            .willReturn(List.of("qcD-OZUBBPFf4ZNZzDCC"));
+        given(dogRepository.count(any(Specification.class))).willReturn(2L);
+        given(dogIndexService.search(parameters))
+            .willReturn(DogSearchResult.of(List.of("qsD-OZUBBPFf4ZNZzDCC"), 2L));
+
+        var result = dogService.searchDogs(parameters);
+        verify(dogIndexService, times(1)).search(parameters);
+        verify(dogRepository, times(1)).findIds(
+            any(Specification.class), any(Sort.class), eq(0L), eq(1));
+        assertThat(result.resultIds()).containsExactly("qcD-OZUBBPFf4ZNZzDCC");
+        assertThat(result.total()).isEqualTo(2);
+    }
+
+    @SuppressWarnings("unchecked")
+    @Test
+    public void testSearchDogsInBatch() {
+        given(dogRepository.findIds(any(Specification.class), any(Sort.class), anyLong(), eq(1)))
+            .willReturn(List.of("qcD-OZUBBPFf4ZNZzDCC"));
+        given(dogRepository.count(any(Specification.class))).willReturn(2L);
+        var first = DogSearchRequestDto.builder().breeds(List.of("Pug", "Beagle")).size(1).build();
+        var second = DogSearchRequestDto.builder().from(1).size(1).build();
+        var repeated = DogSearchRequestDto.builder()
+            .breeds(List.of("Beagle", "Pug"))
+            .size(1)
+            .build();
+
+        var results = dogService.searchDogsInBatch(List.of(first, second, repeated));
+        assertThat(results).hasSize(3);
+        assertThat(results.getFirst()).isSameAs(results.getLast());
+        assertThat(results).allSatisfy(result -> assertThat(result.total()).isEqualTo(2));
+        verify(dogRepository, times(2)).findIds(
+            any(Specification.class), any(Sort.class), anyLong(), eq(1));
+    }
+
+    @SuppressWarnings("unchecked")
+    @Test
+    public void testSearchDogsInBatchWithOneSlot() {
+        searchProperties.setBatchConcurrency(1);
+        var running = new AtomicInteger();
+        var peak = new AtomicInteger();
+        given(dogRepository.findIds(any(Specification.class), any(Sort.class), anyLong(), eq(1)))
+            .willAnswer(invocation -> {
+                peak.accumulateAndGet(running.incrementAndGet(), Math::max);
+                Thread.sleep(20);
+                running.decrementAndGet();
+                return List.of("qcD-OZUBBPFf4ZNZzDCC");
+            });
+        given(dogRepository.count(any(Specification.class))).willReturn(2L);
+        var searches = IntStream.range(0, 3)
+            .mapToObj(from -> DogSearchRequestDto.builder().from(from).size(1).build())
+            .toList();
+
+        assertThat(dogService.searchDogsInBatch(searches)).hasSize(3);
+        assertThat(peak).hasValue(1);
+        verify(taskExecutor, times(3)).execute(any(Runnable.class));
+    }
+
+    @SuppressWarnings("unchecked")
+    @Test
+    public void testSearchDogsInBatchSharesSlots() throws Exception {
+        searchProperties.setBatchConcurrency(1);
+        var running = new AtomicInteger();
+        var peak = new AtomicInteger();
+        given(dogRepository.findIds(any(Specification.class), any(Sort.class), anyLong(), eq(1)))
+            .willAnswer(invocation -> {
+                peak.accumulateAndGet(running.incrementAndGet(), Math::max);
+                Thread.sleep(20);
+                running.decrementAndGet();
+                return List.of("qcD-OZUBBPFf4ZNZzDCC");
+            });
+        given(dogRepository.count(any(Specification.class))).willReturn(2L);
+
+        try (var executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            var batches = IntStream.range(0, 2)
+                .mapToObj(batch -> executor.submit(() -> dogService.searchDogsInBatch(List.of(
+                    DogSearchRequestDto.builder().from(batch * 2).size(1).build(),
+                    DogSearchRequestDto.builder().from(batch * 2 + 1).size(1).build()))))
+                .toList();
+            for (var batch : batches) {
+                assertThat(batch.get()).hasSize(2);
+            }
+        }
+        assertThat(peak).hasValue(1);
+    }
+
+    @Test
+    public void testSearchDogsInBatchTooLarge() {
+        searchProperties.setBatchMaxResults(10);
+        var searches = List.of(
+            DogSearchRequestDto.builder().size(5).build(),
+            DogSearchRequestDto.builder().size(6).build());
+
+        assertThatThrownBy(() -> dogService.searchDogsInBatch(searches))
+            .isInstanceOf(ResponseStatusException.class)
+            .hasMessageContaining("at most 10");
+        verifyNoInteractions(dogRepository, taskExecutor);
+    }
+
+    @Test
+    public void testBuildQuery() {
+        assertThat(dogService.buildQuery(DogSearchRequestDto.builder().build()))
+            .isEqualTo("from=0&size=25&sort=breed%3Aasc");
+        assertThat(dogService.buildQuery(DogSearchRequestDto.builder()
+            .ageMax(10)
+            .ageMin(2)
+            .breeds(List.of("Great Dane", "Pug"))
+            .cursor("")
+            .include("dogs")
+            .zipCodes(List.of("10001", "10002"))
+            .build()
+        )).isEqualTo("ageMax=10&ageMin=2&breeds=Great+Dane,Pug&cursor=&from=0&include=dogs"
+            + "&size=25&sort=breed%3Aasc&zipCodes=10001,10002");
     }
 
     @Test
@@ -175,4 +576,74 @@ public class DogServiceTests {
         assertThat(link.contains("size=1")).isTrue();
         assertThat(link.split("&").length).isEqualTo(4);
     }
+
+    @SuppressWarnings("unchecked")
+    @Test
+    public void testSearchDogsWithCursor() {
+        given(dogRepository.findIdsAndKeys(
+            any(Specification.class), eq("breed"), any(Sort.class), eq(2)))
+            .willReturn(List.of(
+                Pair.of("qcD-OZUBBPFf4ZNZzDCC", "Akita"),
+                Pair.of("qsD-OZUBBPFf4ZNZzDCC", "Akita")));
+        given(dogRepository.count(any(Specification.class))).willReturn(2L);
+
+        var result = dogService.searchDogs(DogSearchRequestDto.builder()
+            .cursor("")
+            .size(1)
+            .sort("breed:asc")
+            .build()
+        );
+        verify(dogRepository, never()).findIds(
+            any(Specification.class), any(Sort.class), anyLong(), anyInt());
+        assertThat(result.resultIds()).containsExactly("qcD-OZUBBPFf4ZNZzDCC");
+        assertThat(result.total()).isEqualTo(2);
+        assertThat(result.nextCursor()).isNotNull();
+        assertThat(result.previousCursor()).isNull();
+    }
+
+    @Test
+    public void testBuildCursorNavigation() {
+        var link = dogService.buildCursorNavigation(
+            "cursor=&from=25&size=50&sort=breed:asc&cursor=abc&breeds=Doberman", "xyz");
+        assertThat(link).isEqualTo("/dogs/search?cursor=xyz&size=50&sort=breed:asc&"
+            + "breeds=Doberman");
+    }
+
+    @Test
+    public void testBuildCursorNavigationWithCursorMissing() {
+        var link = dogService.buildCursorNavigation("size=10", "xyz");
+        assertThat(link).isEqualTo("/dogs/search?size=10&cursor=xyz");
+
+        link = dogService.buildCursorNavigation(null, "xyz");
+        assertThat(link).isEqualTo("/dogs/search?cursor=xyz");
+    }
+
+    @Test
+    public void testIsStreamed() {
+        assertThat(dogService.isStreamed(DogSearchRequestDto.builder().size(1000).build()))
+            .isFalse();
+        assertThat(dogService.isStreamed(DogSearchRequestDto.builder().size(1001).build()))
+            .isTrue();
+        assertThat(dogService.isStreamed(DogSearchRequestDto.builder()
+            .cursor("")
+            .size(1001)
+            .build())).isFalse();
+    }
+
+    @SuppressWarnings("unchecked")
+    @Test
+    public void testStreamDogs() {
+        given(dogRepository.count(any(Specification.class))).willReturn(3L);
+        given(dogRepository.streamIds(any(Specification.class), any(Sort.class), eq(0L), eq(5000)))
+            .willReturn(Stream.of("a", "b", "c"));
+
+        var streamed = new ArrayList<String>();
+        dogService.streamDogs(DogSearchRequestDto.builder().size(5000).build(), (total, ids) -> {
+            assertThat(total).isEqualTo(3L);
+            ids.forEach(streamed::add);
+        });
+        assertThat(streamed).containsExactly("a", "b", "c");
+        verify(dogRepository, never()).findIds(
+            any(Specification.class), any(Sort.class), anyLong(), anyInt());
+    }
 }
@@ -0,0 +1,98 @@
+package com.pupperfield.backend.service;
+
+import com.pupperfield.backend.config.ZipCodeProperties;
+import com.pupperfield.backend.model.DogSearchRequestDto;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.ByteArrayResource;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.core.io.Resource;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+
+public class ZipCodeServiceTests {
+    private static final String CENTROIDS = """
+        zip,latitude,longitude
+        # Manhattan
+        10001, 40.7506, -73.9972
+        10002, 40.7157, -73.9863
+        07102, 40.7357, -74.1724
+        """;
+
+    @Test
+    public void testFindWithin() {
+        var service = createService(new ByteArrayResource(
+            CENTROIDS.getBytes(StandardCharsets.UTF_8)));
+        assertThat(service.getGrid().size()).isEqualTo(3);
+        assertThat(service.findWithin("10001", 5)).containsExactly("10001", "10002");
+    }
+
+    @Test
+    public void testFindWithinWithoutCentroids() {
+        var service = createService(new ClassPathResource("geo/missing.csv"));
+        assertThat(service.getGrid().size()).isZero();
+        assertThat(service.findWithin("10001", 5)).containsExactly("10001");
+    }
+
+    @Test
+    public void testResolve() {
+        var service = createService(new ByteArrayResource(
+            CENTROIDS.getBytes(StandardCharsets.UTF_8)));
+        var plain = DogSearchRequestDto.builder().breeds(List.of("Pug")).build();
+        assertThat(service.resolve(plain)).isSameAs(plain);
+
+        var radius = DogSearchRequestDto.builder()
+            .breeds(List.of("Pug"))
+            .distance(15.0)
+            .zip("10001")
+            .build();
+        var resolved = service.resolve(radius);
+        assertThat(resolved.getZipCodes()).containsExactly("07102", "10001", "10002");
+        assertThat(resolved.getZip()).isNull();
+        assertThat(resolved.getDistance()).isNull();
+        assertThat(resolved.getBreeds()).containsExactly("Pug");
+        assertThat(resolved.isRadiusValid()).isTrue();
+        assertThat(radius.getZipCodes()).isNull();
+    }
+
+    @Test
+    public void testResolveWithoutCentroids() {
+        var service = createService(new ClassPathResource("geo/missing.csv"));
+        var radius = DogSearchRequestDto.builder().distance(15.0).zip("10001").build();
+        assertThatExceptionOfType(ResponseStatusException.class)
+            .isThrownBy(() -> service.resolve(radius))
+            .satisfies(exception -> assertThat(exception.getStatusCode())
+                .isEqualTo(HttpStatus.SERVICE_UNAVAILABLE));
+
+        var plain = DogSearchRequestDto.builder().zipCodes(List.of("10001")).build();
+        assertThat(service.resolve(plain)).isSameAs(plain);
+    }
+
+    @Test
+    public void testCheckRadius() {
+        var radius = DogSearchRequestDto.builder().distance(15.0).zip("10001").build();
+        var plain = DogSearchRequestDto.builder().zipCodes(List.of("10001")).build();
+        var service = createService(new ByteArrayResource(
+            CENTROIDS.getBytes(StandardCharsets.UTF_8)));
+        service.checkRadius(radius);
+        service.checkRadius(plain);
+
+        var emptyService = createService(new ClassPathResource("geo/missing.csv"));
+        emptyService.checkRadius(plain);
+        assertThatExceptionOfType(ResponseStatusException.class)
+            .isThrownBy(() -> emptyService.checkRadius(radius))
+            .satisfies(exception -> assertThat(exception.getStatusCode())
+                .isEqualTo(HttpStatus.SERVICE_UNAVAILABLE));
+    }
+
+    private static ZipCodeService createService(Resource centroids) {
+        var properties = new ZipCodeProperties();
+        properties.setCentroids(centroids);
+        return new ZipCodeService(properties);
+    }
+}
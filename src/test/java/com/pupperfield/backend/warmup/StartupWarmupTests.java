@@ -0,0 +1,123 @@
+package com.pupperfield.backend.warmup;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.pupperfield.backend.cache.DogSearchKey;
+import com.pupperfield.backend.config.CacheConfig;
+import com.pupperfield.backend.config.WarmupProperties;
+import com.pupperfield.backend.model.DogSearchRequestDto;
+import com.pupperfield.backend.model.DogSearchResult;
+import com.pupperfield.backend.service.DogService;
+import com.zaxxer.hikari.HikariDataSource;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+
+@ExtendWith(MockitoExtension.class)
+public class StartupWarmupTests {
+    @Spy
+    private CacheManager cacheManager = new ConcurrentMapCacheManager();
+
+    @Mock
+    private HikariDataSource dataSource;
+
+    @Mock
+    private DogService dogService;
+
+    @Spy
+    private WarmupProperties warmupProperties = new WarmupProperties();
+
+    @InjectMocks
+    private StartupWarmup startupWarmup;
+
+    @Test
+    public void testStart() throws Exception {
+        var connection = mock(Connection.class);
+        given(dataSource.getMinimumIdle()).willReturn(3);
+        given(dataSource.getConnection()).willReturn(connection);
+        given(dogService.getBreeds()).willReturn(List.of("Beagle", "Pug"));
+        given(dogService.searchDogs(any(DogSearchRequestDto.class)))
+            .willReturn(DogSearchResult.of(List.of("qcD-OZUBBPFf4ZNZzDCC"), 1L));
+        warmupProperties.setListSize(2);
+        warmupProperties.setSearches(List.of(DogSearchRequestDto.builder()
+            .sort("name:asc")
+            .build()));
+
+        startupWarmup.start();
+        verify(dataSource, times(3)).getConnection();
+        verify(connection, times(3)).close();
+        verify(dogService, times(1)).getBreeds();
+        verify(dogService, times(1)).searchDogs(DogSearchRequestDto.builder()
+            .sort("name:asc")
+            .build());
+        verify(dogService, times(1)).searchDogs(DogSearchRequestDto.builder()
+            .breeds(List.of("Beagle"))
+            .build());
+        verify(dogService, times(1)).searchDogs(DogSearchRequestDto.builder()
+            .breeds(List.of("Pug"))
+            .build());
+        verify(dogService, times(1))
+            .listDogs(List.of("qcD-OZUBBPFf4ZNZzDCC", "qcD-OZUBBPFf4ZNZzDCC"));
+        assertThat(startupWarmup.isRunning()).isTrue();
+    }
+
+    @Test
+    public void testStartContinuesAfterFailures() throws Exception {
+        given(dataSource.getMinimumIdle()).willReturn(1);
+        given(dataSource.getConnection()).willThrow(new SQLException("timeout"));
+        given(dogService.getBreeds()).willReturn(List.of("Beagle", "Pug"));
+        given(dogService.searchDogs(any(DogSearchRequestDto.class)))
+            .willThrow(new IllegalStateException("failed"));
+
+        startupWarmup.start();
+        verify(dogService, times(2)).searchDogs(any(DogSearchRequestDto.class));
+        verify(dogService, never()).listDogs(any());
+    }
+
+    @Test
+    public void testStartChecksCachesWithoutReadingThem() {
+        var caffeineCacheManager = new CaffeineCacheManager(
+            CacheConfig.ID_LIST_CACHE, CacheConfig.SEARCH_CACHE);
+        caffeineCacheManager.setCaffeine(Caffeine.newBuilder().recordStats());
+        var searches = caffeineCacheManager.getCache(CacheConfig.SEARCH_CACHE);
+        given(dogService.searchDogs(any(DogSearchRequestDto.class))).willAnswer(invocation -> {
+            var result = DogSearchResult.of(List.of("qcD-OZUBBPFf4ZNZzDCC"), 1L);
+            searches.put(DogSearchKey.of(invocation.getArgument(0)), result);
+            return result;
+        });
+        warmupProperties.setBreedSearches(false);
+        warmupProperties.setSearches(List.of(DogSearchRequestDto.builder().build()));
+
+        new StartupWarmup(caffeineCacheManager, dataSource, dogService, warmupProperties).start();
+        var stats = ((Cache<?, ?>) searches.getNativeCache()).stats();
+        assertThat(stats.hitCount()).isZero();
+        assertThat(stats.missCount()).isZero();
+    }
+
+    @Test
+    public void testStartWhenDisabled() {
+        warmupProperties.setEnabled(false);
+        startupWarmup.start();
+        verifyNoInteractions(dataSource, dogService);
+        assertThat(startupWarmup.isRunning()).isTrue();
+    }
+}